@@ -0,0 +1,79 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "gateway.auth")
+public class AuthPolicyProperties {
+
+    /**
+     * Access for routed paths that no rule matches.
+     */
+    private RoutePolicy.Access defaultAccess = RoutePolicy.Access.AUTHENTICATED;
+
+    /**
+     * Per-route rules. The most specific path wins, whatever the order they are listed in.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    public RoutePolicy.Access getDefaultAccess() {
+        return defaultAccess;
+    }
+
+    public void setDefaultAccess(RoutePolicy.Access defaultAccess) {
+        this.defaultAccess = defaultAccess;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+
+        // Literal segments, * or {name} for one segment, and a trailing ** for any remainder
+        private List<String> paths = new ArrayList<>();
+        // Empty means every method
+        private List<String> methods = new ArrayList<>();
+        private RoutePolicy.Access access = RoutePolicy.Access.AUTHENTICATED;
+        // Any one of these is enough; setting roles implies an authenticated request
+        private List<String> roles = new ArrayList<>();
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public RoutePolicy.Access getAccess() {
+            return access;
+        }
+
+        public void setAccess(RoutePolicy.Access access) {
+            this.access = access;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+    }
+}
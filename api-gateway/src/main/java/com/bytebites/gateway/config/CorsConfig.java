@@ -17,6 +17,7 @@ public class CorsConfig {
         corsConfig.setAllowedOrigins(Arrays.asList("*"));  // Allow all origins
         corsConfig.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         corsConfig.setAllowedHeaders(Arrays.asList("*"));
+        corsConfig.setExposedHeaders(Arrays.asList("X-Next-Cursor"));  // Keyset pagination of order listings
         corsConfig.setAllowCredentials(false);  // Important: set to false when allowing all origins
         corsConfig.setMaxAge(3600L);
     
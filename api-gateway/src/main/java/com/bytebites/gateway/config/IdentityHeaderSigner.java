@@ -0,0 +1,50 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs the identity headers forwarded to downstream services so they can trust
+ * the gateway's verification instead of parsing the JWT again.
+ * Services recompute the HMAC over the same canonical string:
+ * {@code subject + "\n" + roles + "\n" + expiresEpochSeconds}.
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    public static final List<String> HEADERS = List.of(USER_HEADER, ROLES_HEADER, EXPIRES_HEADER, SIGNATURE_HEADER);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public IdentityHeaderSigner(
+            @Value("${identity.header-secret:${jwt.secret:bytebites-secret-key-for-jwt-signing-and-verification}}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String sign(String subject, String roles, long expiresEpochSeconds) {
+        try {
+            // Mac instances are not thread-safe; creating one is cheap next to a JWT parse
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal((subject + "\n" + roles + "\n" + expiresEpochSeconds)
+                    .getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign identity headers", e);
+        }
+    }
+}
@@ -1,86 +1,100 @@
 package com.bytebites.gateway.config;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.List;
-
+/**
+ * Applies the route's {@link RoutePolicy} before proxying: public routes pass
+ * without identity headers, others need a valid bearer token and, where the
+ * rule names roles, one of them, so unauthorized calls never reach a service.
+ */
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret:bytebites-secret-key-for-jwt-signing-and-verification}")
-    private String jwtSecret;
+    // Exchange attribute holding the VerifiedIdentity of an authenticated request, for later filters
+    public static final String IDENTITY_ATTRIBUTE = VerifiedIdentity.class.getName();
+
+    // Ahead of the per-user rate limit, the response cache and request coalescing,
+    // so no caller is answered before its token has been checked
+    static final int ORDER = ResponseCacheFilter.ORDER - 2;
 
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-            "/auth/register",
-            "/auth/login",
-            "/auth/refresh-token",
-            "/actuator",
-            "/swagger-ui",
-            "/v3/api-docs"
-    );
+    private final VerifiedTokenCache tokenCache;
+    private final RoutePolicyMatcher policies;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, RoutePolicyMatcher policies) {
+        this.tokenCache = tokenCache;
+        this.policies = policies;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getPath().value();
+        RoutePolicy policy = policies.resolve(request.getMethod().name(),
+                request.getPath().pathWithinApplication().value());
 
-        if (isPublicEndpoint(path)) {
-            return chain.filter(exchange);
+        if (policy.isPublic()) {
+            return chain.filter(withoutIdentityHeaders(exchange));
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return unauthorized(exchange);
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
         }
 
         String token = authHeader.substring(7);
         try {
-            validateToken(token);
-            
-            // If token is valid, forward it to the downstream service
+            VerifiedIdentity identity = tokenCache.verify(token);
+            if (!policy.permits(identity)) {
+                return reject(exchange, HttpStatus.FORBIDDEN);
+            }
+            exchange.getAttributes().put(IDENTITY_ATTRIBUTE, identity);
+
+            // Forward the verified identity so downstream services can skip parsing the token again
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .headers(headers -> {
+                        IdentityHeaderSigner.HEADERS.forEach(headers::remove);
+                        headers.set(IdentityHeaderSigner.USER_HEADER, identity.subject());
+                        headers.set(IdentityHeaderSigner.ROLES_HEADER, identity.rolesHeader());
+                        headers.set(IdentityHeaderSigner.EXPIRES_HEADER,
+                                String.valueOf(identity.expiresAt().getEpochSecond()));
+                        headers.set(IdentityHeaderSigner.SIGNATURE_HEADER, identity.signature());
+                    })
                     .build();
-                    
+
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            
+
         } catch (Exception e) {
             System.err.println("Error validating JWT token: " + e.getMessage());
-            return unauthorized(exchange);
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
         }
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(path::startsWith);
-    }
-
-    private void validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+    // Clients must never be able to supply identity headers themselves
+    private ServerWebExchange withoutIdentityHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (IdentityHeaderSigner.HEADERS.stream().noneMatch(headers::containsKey)) {
+            return exchange;
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(h -> IdentityHeaderSigner.HEADERS.forEach(h::remove))
+                .build();
+        return exchange.mutate().request(request).build();
     }
 
-    private Mono<Void> unauthorized(ServerWebExchange exchange) {
-        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
         return exchange.getResponse().setComplete();
     }
 
     @Override
     public int getOrder() {
-        return -1; // Ensure this filter runs before others
+        return ORDER;
     }
-}
\ No newline at end of file
+}
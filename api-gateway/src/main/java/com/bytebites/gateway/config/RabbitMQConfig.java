@@ -0,0 +1,66 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.contracts.event.RestaurantUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.DefaultClassMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String EXCHANGE_NAME = "bytebites-exchange";
+    public static final String ORDER_STATUS_CHANGED_ROUTING_KEY = "order.status.changed";
+    public static final String ORDER_STATUS_CHANGED_TYPE_ID = "order.status.changed";
+    public static final String RESTAURANT_UPDATED_ROUTING_KEY = "restaurant.updated";
+    public static final String RESTAURANT_UPDATED_TYPE_ID = "restaurant.updated";
+
+    @Bean
+    public TopicExchange exchange() {
+        return new TopicExchange(EXCHANGE_NAME, true, false);
+    }
+
+    // A customer's stream may be open on any gateway node, so every node needs every event
+    @Bean
+    public Queue orderStatusQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding orderStatusBinding(Queue orderStatusQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(orderStatusQueue).to(exchange).with(ORDER_STATUS_CHANGED_ROUTING_KEY);
+    }
+
+    // Every node caches restaurant reads, so every node needs every restaurant event
+    @Bean
+    public Queue restaurantUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding restaurantUpdatesBinding(Queue restaurantUpdatesQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(restaurantUpdatesQueue).to(exchange).with(RESTAURANT_UPDATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        DefaultClassMapper classMapper = new DefaultClassMapper();
+        classMapper.setIdClassMapping(Map.of(
+                ORDER_STATUS_CHANGED_TYPE_ID, OrderStatusChangedEvent.class,
+                RESTAURANT_UPDATED_TYPE_ID, RestaurantUpdatedEvent.class));
+        classMapper.setTrustedPackages("com.bytebites.contracts.event");
+        converter.setClassMapper(classMapper);
+        return converter;
+    }
+}
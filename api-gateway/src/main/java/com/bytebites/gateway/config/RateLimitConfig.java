@@ -0,0 +1,84 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.LocalRateLimitStore;
+import com.bytebites.gateway.service.RateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * Token-bucket limits per client IP, checked before the token is verified, and
+ * per user, checked after. {@code gateway.rate-limit.store: local} keeps the
+ * buckets in this node; any other value expects a shared {@link RateLimitStore}
+ * bean to be provided for the cluster.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    @ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimitStore rateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.rate-limit.maximum-keys:1000000}") long maximumKeys,
+            @Value("${gateway.rate-limit.client.replenish-rate:50}") double clientRate,
+            @Value("${gateway.rate-limit.client.burst-capacity:100}") long clientBurst,
+            @Value("${gateway.rate-limit.user.replenish-rate:20}") double userRate,
+            @Value("${gateway.rate-limit.user.burst-capacity:40}") long userBurst) {
+        Duration clientRefill = new RateLimitStore.Limit(clientRate, clientBurst).refillTime();
+        Duration userRefill = new RateLimitStore.Limit(userRate, userBurst).refillTime();
+        return new LocalRateLimitStore(maximumKeys,
+                clientRefill.compareTo(userRefill) > 0 ? clientRefill : userRefill, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter clientRateLimitFilter(
+            RateLimitStore store,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.rate-limit.client.replenish-rate:50}") double rate,
+            @Value("${gateway.rate-limit.client.burst-capacity:100}") long burst,
+            @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        // Behind a load balancer the client is taken from X-Forwarded-For, skipping only our own proxies
+        RemoteAddressResolver resolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() { };
+        // Ahead of token verification, so invalid tokens and cache hits count against the client too
+        return new RateLimitFilter("client", JwtAuthenticationFilter.ORDER - 1,
+                exchange -> clientAddress(resolver, exchange),
+                new RateLimitStore.Limit(rate, burst), store, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter userRateLimitFilter(
+            RateLimitStore store,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.rate-limit.user.replenish-rate:20}") double rate,
+            @Value("${gateway.rate-limit.user.burst-capacity:40}") long burst) {
+        // Between token verification and the response cache, so followers of a coalesced
+        // request are limited like any other caller
+        return new RateLimitFilter("user", ResponseCacheFilter.ORDER - 1,
+                exchange -> {
+                    VerifiedIdentity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE);
+                    return identity != null ? identity.subject() : null;
+                },
+                new RateLimitStore.Limit(rate, burst), store, meterRegistry);
+    }
+
+    private static String clientAddress(RemoteAddressResolver resolver, ServerWebExchange exchange) {
+        InetSocketAddress address = resolver.resolve(exchange);
+        if (address == null) {
+            return null;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
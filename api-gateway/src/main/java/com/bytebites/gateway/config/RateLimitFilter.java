@@ -0,0 +1,75 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Rejects requests with 429 and {@code Retry-After} once the bucket of their
+ * key is empty. Requests for which {@code keyResolver} returns {@code null}
+ * are not limited. A failing store lets requests through rather than taking
+ * the gateway down with it. Rejections are counted as
+ * {@code gateway.rate-limit.rejected{limit=<name>}}.
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final String name;
+    private final int order;
+    private final Function<ServerWebExchange, String> keyResolver;
+    private final RateLimitStore.Limit limit;
+    private final RateLimitStore store;
+    private final Counter rejected;
+
+    public RateLimitFilter(String name, int order, Function<ServerWebExchange, String> keyResolver,
+                           RateLimitStore.Limit limit, RateLimitStore store, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.order = order;
+        this.keyResolver = keyResolver;
+        this.limit = limit;
+        this.store = store;
+        this.rejected = Counter.builder("gateway.rate-limit.rejected")
+                .tag("limit", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String key = keyResolver.apply(exchange);
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        return store.tryAcquire(name + ":" + key, limit)
+                .onErrorResume(e -> {
+                    LOGGER.warn("Rate limit store failed, letting the request through: {}", e.getMessage());
+                    return Mono.just(RateLimitStore.Decision.ALLOWED);
+                })
+                .flatMap(decision -> decision.allowed() ? chain.filter(exchange) : reject(exchange, decision));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitStore.Decision decision) {
+        rejected.increment();
+        // Whole seconds, rounded up so a client that waits exactly this long gets a token
+        long seconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,222 @@
+package com.bytebites.gateway.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses identical GETs that arrive while one is already on its way upstream:
+ * the first caller (the leader) is proxied and every other caller waits for its
+ * response and gets a copy. Nothing is kept once the response is out, so callers
+ * never see data older than an upstream call they overlapped with. Requests are
+ * identical when path, query, {@code Accept} headers and credentials match.
+ * Conditional and range requests are never coalesced, since their 304 or 206
+ * only makes sense to the caller holding the validator, and only 200s are
+ * shared: on any other status each waiting caller goes upstream itself.
+ * Counted as {@code gateway.coalescing.requests{role=leader|follower}}; the
+ * follower share is the coalescing ratio.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    // Per connection or already set on each caller's own response
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.SET_COOKIE, HttpHeaders.VARY);
+
+    // Make the response depend on what this caller already holds
+    private static final List<String> CONDITIONAL_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH,
+            HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE, HttpHeaders.RANGE);
+
+    // After token verification and the rate limits, so followers are checked like any other
+    // caller, and before the write filter so the leader's response can be captured
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private final List<PathPattern> paths;
+    private final long maxBodyBytes;
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.coalescing.paths:/api/restaurants,/api/restaurants/*,/api/restaurants/*/menu,/api/restaurants/*/menu/items}") List<String> paths,
+            @Value("${gateway.coalescing.max-body-size:1MB}") DataSize maxBodySize) {
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.leaders = Counter.builder("gateway.coalescing.requests").tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("gateway.coalescing.requests").tag("role", "follower").register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !isCoalesced(request.getPath().pathWithinApplication())
+                || CONDITIONAL_HEADERS.stream().anyMatch(request.getHeaders()::containsKey)) {
+            return chain.filter(exchange);
+        }
+
+        Key key = Key.of(request);
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            followers.increment();
+            // A leader that could not share its response leaves each follower to go upstream itself
+            return leader.response.asMono().singleOptional()
+                    .flatMap(shared -> shared.isPresent()
+                            ? write(exchange.getResponse(), shared.get())
+                            : chain.filter(exchange));
+        }
+
+        leaders.increment();
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), key, flight)).build())
+                .doFinally(signal -> finish(key, flight, null));
+    }
+
+    private boolean isCoalesced(PathContainer path) {
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Leaves the map first, so requests arriving from now on start a new upstream call
+    private void finish(Key key, Flight flight, SharedResponse response) {
+        inFlight.remove(key, flight);
+        if (response != null) {
+            flight.response.tryEmitValue(response);
+        } else {
+            flight.response.tryEmitEmpty();
+        }
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record Key(String path, String query, String accept, String acceptEncoding, String credentials) {
+
+        static Key of(ServerHttpRequest request) {
+            HttpHeaders headers = request.getHeaders();
+            String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+            return new Key(request.getPath().pathWithinApplication().value(),
+                    request.getURI().getRawQuery(),
+                    String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT)),
+                    String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)),
+                    authorization != null ? digest(authorization) : null);
+        }
+
+        // Callers share a response only with callers holding the same credentials,
+        // which are not kept in memory in the clear
+        private static String digest(String authorization) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(sha256.digest(authorization.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    private static final class Flight {
+
+        final Sinks.One<SharedResponse> response = Sinks.one();
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+        private final Flight flight;
+
+        SharingResponse(ServerHttpResponse delegate, Key key, Flight flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || getHeaders().containsKey(HttpHeaders.SET_COOKIE)
+                    || getHeaders().getContentLength() > maxBodyBytes) {
+                finish(key, flight, null);
+                return super.writeWith(body);
+            }
+            return Flux.from(body).collectList().flatMap(buffers -> {
+                byte[] bytes = new byte[0];
+                if (!buffers.isEmpty()) {
+                    DataBuffer joined = bufferFactory().join(buffers);
+                    bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                }
+                finish(key, flight, bytes.length <= maxBodyBytes ? share(status, bytes) : null);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private SharedResponse share(HttpStatusCode status, byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            return new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+    }
+}
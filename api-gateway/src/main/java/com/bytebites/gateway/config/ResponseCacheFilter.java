@@ -0,0 +1,202 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.ResponseCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Answers public GETs on the {@code gateway.response-cache.paths} from
+ * {@link ResponseCache}, and stores the 200 responses of misses on their way
+ * back together with their upstream headers. Responses marked
+ * {@code no-store}, {@code private} or {@code Vary: *} are passed through.
+ * Every response carries a content-hash ETag and, unless upstream chose its own
+ * {@code Cache-Control}, {@code no-cache}, so clients revalidate with
+ * {@code If-None-Match} and get a bodiless 304 while nothing has changed.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Per connection, per caller (CORS is answered by the gateway for each request) or set here
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.SET_COOKIE, HttpHeaders.DATE, HttpHeaders.ETAG, CACHE_STATUS_HEADER);
+
+    // Must wrap the response before NettyWriteResponseFilter writes the upstream body into it,
+    // and answer hits before RequestCoalescingFilter makes callers wait on each other
+    static final int ORDER = RequestCoalescingFilter.ORDER - 1;
+
+    private final ResponseCache cache;
+    private final RoutePolicyMatcher policies;
+    private final Counter notModified;
+
+    public ResponseCacheFilter(ResponseCache cache, RoutePolicyMatcher policies, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.policies = policies;
+        this.notModified = Counter.builder("gateway.response-cache.not-modified").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        // Only public reads are shared between callers
+        if (request.getMethod() != HttpMethod.GET || !cache.isCacheable(path)
+                || !policies.resolve(HttpMethod.GET.name(), path).isPublic()) {
+            return chain.filter(exchange);
+        }
+
+        ResponseCache.Key key = ResponseCache.Key.of(path, request.getURI().getRawQuery(), request.getHeaders());
+        ResponseCache.Entry cached = cache.get(key, request.getHeaders());
+        if (cached != null) {
+            return respond(exchange, cached);
+        }
+        CapturingResponse response = new CapturingResponse(exchange, key, cache.generation());
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, ResponseCache.Entry entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        entry.headers().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(HttpHeaders.VARY) && !headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        // The gateway's own CORS handling may already have added some of these
+        List<String> vary = headers.getVary();
+        entry.headers().getVary().stream()
+                .filter(name -> vary.stream().noneMatch(name::equalsIgnoreCase))
+                .forEach(name -> headers.add(HttpHeaders.VARY, name));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (validatorHeaders(exchange, headers, entry.etag())) {
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    // Sets ETag and Cache-Control, and switches to 304 if the client already has this version
+    private boolean validatorHeaders(ServerWebExchange exchange, HttpHeaders headers, String etag) {
+        headers.setETag(etag);
+        if (!headers.containsKey(HttpHeaders.CACHE_CONTROL)) {
+            headers.setCacheControl("no-cache");
+        }
+        if (!matches(exchange.getRequest().getHeaders(), etag)) {
+            return false;
+        }
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+        notModified.increment();
+        return true;
+    }
+
+    private static boolean matches(HttpHeaders requestHeaders, String etag) {
+        List<String> tags;
+        try {
+            tags = requestHeaders.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // If-None-Match uses weak comparison, so W/"x" matches "x"
+        return tags.stream().anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+    }
+
+    private static boolean isStorable(HttpHeaders responseHeaders) {
+        if (responseHeaders.containsKey(HttpHeaders.SET_COOKIE) || responseHeaders.getVary().contains("*")) {
+            return false;
+        }
+        for (String directive : responseHeaders.getValuesAsList(HttpHeaders.CACHE_CONTROL)) {
+            String name = directive.toLowerCase(Locale.ROOT);
+            if (name.equals("no-store") || name.startsWith("private")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders responseHeaders) {
+        HttpHeaders stored = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> {
+            if (UNSTORED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                    && !name.regionMatches(true, 0, "Access-Control-", 0, 15)) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return stored;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final ResponseCache.Key key;
+        private final long generation;
+
+        CapturingResponse(ServerWebExchange exchange, ResponseCache.Key key, long generation) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long contentLength = getHeaders().getContentLength();
+            if (status == null || status.value() != HttpStatus.OK.value() || !isStorable(getHeaders())
+                    || contentLength > cache.maxEntryBytes()) {
+                return super.writeWith(body);
+            }
+            return Flux.from(body).collectList().flatMap(buffers -> {
+                byte[] bytes = new byte[0];
+                if (!buffers.isEmpty()) {
+                    DataBuffer joined = bufferFactory().join(buffers);
+                    bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                }
+                String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                if (bytes.length <= cache.maxEntryBytes()) {
+                    cache.put(key, ResponseCache.Entry.of(storedHeaders(getHeaders()), bytes, etag,
+                            exchange.getRequest().getHeaders()), generation);
+                }
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                if (validatorHeaders(exchange, getHeaders(), etag)) {
+                    return getDelegate().setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
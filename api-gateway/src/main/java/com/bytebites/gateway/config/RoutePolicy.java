@@ -0,0 +1,30 @@
+package com.bytebites.gateway.config;
+
+import java.util.Set;
+
+/**
+ * What the gateway requires of a request before routing it: nothing, a valid
+ * token, or a valid token carrying at least one of {@code roles}.
+ */
+public record RoutePolicy(Access access, Set<String> roles) {
+
+    public enum Access {
+        PUBLIC,
+        AUTHENTICATED
+    }
+
+    public RoutePolicy {
+        roles = Set.copyOf(roles);
+        if (access == Access.PUBLIC && !roles.isEmpty()) {
+            throw new IllegalArgumentException("A public route cannot require roles " + roles);
+        }
+    }
+
+    public boolean isPublic() {
+        return access == Access.PUBLIC;
+    }
+
+    public boolean permits(VerifiedIdentity identity) {
+        return roles.isEmpty() || identity.roles().stream().anyMatch(roles::contains);
+    }
+}
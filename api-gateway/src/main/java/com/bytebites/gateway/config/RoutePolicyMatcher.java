@@ -0,0 +1,166 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the {@link RoutePolicy} of a request from the {@code gateway.auth}
+ * rules, compiled at startup into a trie keyed by path segment. A lookup walks
+ * the request path once; literal segments are preferred over {@code *} and
+ * {@code {name}}, and those over a trailing {@code **}, so the most specific
+ * rule wins regardless of the order the rules are listed in.
+ * <p>
+ * The path is matched the way a backend routes it: segments are percent-decoded
+ * and stripped of matrix parameters, an encoded slash separates segments, and
+ * dot segments are resolved. Another spelling of a path therefore cannot reach a
+ * more permissive rule than the path itself.
+ */
+@Component
+@EnableConfigurationProperties(AuthPolicyProperties.class)
+public class RoutePolicyMatcher {
+
+    private static final String ANY_METHOD = "*";
+
+    private final Node root = new Node();
+    private final RoutePolicy defaultPolicy;
+
+    public RoutePolicyMatcher(AuthPolicyProperties properties) {
+        this.defaultPolicy = new RoutePolicy(properties.getDefaultAccess(), Set.of());
+        for (AuthPolicyProperties.Rule rule : properties.getRules()) {
+            RoutePolicy policy = new RoutePolicy(rule.getAccess(), Set.copyOf(rule.getRoles()));
+            List<String> methods = rule.getMethods().isEmpty() ? List.of(ANY_METHOD) : rule.getMethods();
+            for (String path : rule.getPaths()) {
+                for (String method : methods) {
+                    add(path, method.toUpperCase(Locale.ROOT), policy);
+                }
+            }
+        }
+    }
+
+    public RoutePolicy resolve(String method, String path) {
+        RoutePolicy policy = match(root, method, normalize(path), 0);
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    private static List<String> normalize(String path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : decodedSegments(path)) {
+            for (String part : segment.split("/")) {
+                // Empty segments, as in a trailing or doubled slash, are skipped
+                if (part.isEmpty() || part.equals(".")) {
+                    continue;
+                }
+                if (part.equals("..")) {
+                    segments.pollLast();
+                } else {
+                    segments.addLast(part);
+                }
+            }
+        }
+        return List.copyOf(segments);
+    }
+
+    private static List<String> decodedSegments(String path) {
+        try {
+            return PathContainer.parsePath(path).elements().stream()
+                    .filter(PathContainer.PathSegment.class::isInstance)
+                    .map(element -> ((PathContainer.PathSegment) element).valueToMatch())
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            // A malformed escape cannot decode to another path; backends reject it
+            return List.of(path);
+        }
+    }
+
+    private void add(String pattern, String method, RoutePolicy policy) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Auth rule path must start with '/': " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/");
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of an auth rule path: " + pattern);
+                }
+                node.putRemainder(method, policy, pattern);
+                return;
+            }
+            if (segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Unsupported segment '" + segment + "' in auth rule path: " + pattern);
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.putExact(method, policy, pattern);
+    }
+
+    private RoutePolicy match(Node node, String method, List<String> segments, int index) {
+        if (index == segments.size()) {
+            RoutePolicy exact = Node.lookup(node.exact, method);
+            return exact != null ? exact : Node.lookup(node.remainder, method);
+        }
+
+        RoutePolicy policy = null;
+        Node literal = node.literals.get(segments.get(index));
+        if (literal != null) {
+            policy = match(literal, method, segments, index + 1);
+        }
+        if (policy == null && node.wildcard != null) {
+            policy = match(node.wildcard, method, segments, index + 1);
+        }
+        return policy != null ? policy : Node.lookup(node.remainder, method);
+    }
+
+    private static final class Node {
+
+        final Map<String, Node> literals = new HashMap<>();
+        Node wildcard;
+        // Policies by method for a path ending at this node, and for a ** below it
+        Map<String, RoutePolicy> exact;
+        Map<String, RoutePolicy> remainder;
+
+        void putExact(String method, RoutePolicy policy, String pattern) {
+            exact = put(exact, method, policy, pattern);
+        }
+
+        void putRemainder(String method, RoutePolicy policy, String pattern) {
+            remainder = put(remainder, method, policy, pattern);
+        }
+
+        private static Map<String, RoutePolicy> put(Map<String, RoutePolicy> policies, String method,
+                                                    RoutePolicy policy, String pattern) {
+            Map<String, RoutePolicy> target = policies != null ? policies : new HashMap<>();
+            if (target.putIfAbsent(method, policy) != null) {
+                throw new IllegalArgumentException("Duplicate auth rule for " + method + " " + pattern);
+            }
+            return target;
+        }
+
+        static RoutePolicy lookup(Map<String, RoutePolicy> policies, String method) {
+            if (policies == null) {
+                return null;
+            }
+            RoutePolicy policy = policies.get(method);
+            return policy != null ? policy : policies.get(ANY_METHOD);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a client per entry under {@code gateway.upstreams.routes} and the
+ * filter that routes through them.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamClientProperties.class)
+public class UpstreamClientConfig {
+
+    @Bean
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                       HttpClientProperties httpClientProperties,
+                                                       ServerProperties serverProperties,
+                                                       HttpClientSslConfigurer sslConfigurer,
+                                                       ObjectProvider<HttpClientCustomizer> customizers,
+                                                       UpstreamClientProperties upstreams) {
+        List<HttpClientCustomizer> customizerList = customizers.orderedStream().toList();
+        Map<String, HttpClient> routeClients = new HashMap<>();
+        upstreams.getRoutes().forEach((routeId, upstream) -> routeClients.put(routeId,
+                new UpstreamHttpClientFactory(routeId, upstream, httpClientProperties, serverProperties,
+                        sslConfigurer, customizerList).build()));
+        return new UpstreamRoutingFilter(httpClient, headersFilters, httpClientProperties, routeClients);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+/**
+ * Builds the client of one route the way the gateway builds its shared one,
+ * with the route's own connection pool, connect timeout and protocol. The pool
+ * is named after the route, so its {@code reactor.netty.connection.provider.*}
+ * metrics show active, idle and pending connections per upstream.
+ */
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    private final String name;
+    private final UpstreamClientProperties.Upstream upstream;
+
+    public UpstreamHttpClientFactory(String name, UpstreamClientProperties.Upstream upstream,
+                                     HttpClientProperties defaults, ServerProperties serverProperties,
+                                     HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers) {
+        super(withConnectTimeout(defaults, upstream), serverProperties, sslConfigurer, customizers);
+        this.name = name;
+        this.upstream = upstream;
+    }
+
+    public HttpClient build() {
+        return createInstance();
+    }
+
+    @Override
+    protected HttpClient createInstance() {
+        HttpClient client = super.createInstance();
+        return upstream.isH2c() ? client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11) : client;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(upstream.getMaxConnections())
+                .pendingAcquireMaxCount(upstream.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(upstream.getPendingAcquireTimeout())
+                .maxIdleTime(upstream.getMaxIdleTime())
+                .maxLifeTime(upstream.getMaxLifeTime())
+                .evictInBackground(upstream.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private static HttpClientProperties withConnectTimeout(HttpClientProperties defaults,
+                                                           UpstreamClientProperties.Upstream upstream) {
+        HttpClientProperties properties = new HttpClientProperties();
+        BeanUtils.copyProperties(defaults, properties);
+        properties.setConnectTimeout((int) upstream.getConnectTimeout().toMillis());
+        return properties;
+    }
+}
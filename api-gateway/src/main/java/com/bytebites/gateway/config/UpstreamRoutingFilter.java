@@ -0,0 +1,58 @@
+package com.bytebites.gateway.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Routes listed under {@code gateway.upstreams.routes} through their own
+ * client, so a slow service exhausts its own pool rather than everyone's.
+ * Runs just ahead of the gateway's routing filter, which skips the requests
+ * routed here and still proxies every other route with the shared client.
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+
+    private final Map<String, HttpClient> routeClients;
+
+    public UpstreamRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                 HttpClientProperties properties, Map<String, HttpClient> routeClients) {
+        super(httpClient, headersFilters, properties);
+        this.routeClients = Map.copyOf(routeClients);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || !routeClients.containsKey(route.getId())) {
+            return chain.filter(exchange);
+        }
+        return super.filter(exchange, chain);
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        return routeClients.get(route.getId());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    public void destroy() {
+        routeClients.values().forEach(client -> client.configuration().connectionProvider().dispose());
+    }
+}
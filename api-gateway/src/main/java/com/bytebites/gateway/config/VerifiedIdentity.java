@@ -0,0 +1,19 @@
+package com.bytebites.gateway.config;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity taken from a bearer token whose signature has already been checked,
+ * together with the signature the gateway forwards to downstream services.
+ */
+public record VerifiedIdentity(String subject, List<String> roles, Instant expiresAt, String signature) {
+
+    public VerifiedIdentity {
+        roles = List.copyOf(roles);
+    }
+
+    public String rolesHeader() {
+        return String.join(",", roles);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bytebites.gateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by the
+ * SHA-256 digest of the token so raw credentials are never held in memory.
+ * Entries live until the token expires (capped by {@code max-ttl}) and the
+ * cache is bounded by size. Hits and misses are published as
+ * {@code cache.gets{cache=verified-tokens}}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "verified-tokens";
+
+    private final JwtParser jwtParser;
+    private final IdentityHeaderSigner signer;
+    private final Duration maxTtl;
+    private final Cache<String, VerifiedIdentity> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.secret:bytebites-secret-key-for-jwt-signing-and-verification}") String jwtSecret,
+            @Value("${gateway.token-cache.maximum-size:100000}") long maximumSize,
+            @Value("${gateway.token-cache.max-ttl:1h}") Duration maxTtl,
+            IdentityHeaderSigner signer,
+            MeterRegistry meterRegistry) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.signer = signer;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the identity for the token, verifying it only on a cache miss.
+     * Invalid tokens are never cached.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public VerifiedIdentity verify(String token) {
+        return cache.get(digest(token), key -> parse(token));
+    }
+
+    private VerifiedIdentity parse(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Instant expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().toInstant()
+                : Instant.now().plus(maxTtl);
+        List<String> roles = extractRoles(claims.get("roles"));
+        String signature = signer.sign(claims.getSubject(), String.join(",", roles), expiresAt.getEpochSecond());
+        return new VerifiedIdentity(claims.getSubject(), roles, expiresAt, signature);
+    }
+
+    private List<String> extractRoles(Object rolesClaim) {
+        if (rolesClaim instanceof List<?> list) {
+            return list.stream()
+                    .filter(Objects::nonNull)
+                    .map(Object::toString)
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .toList();
+        }
+        if (rolesClaim instanceof String role && !role.isBlank()) {
+            return List.of(role.trim());
+        }
+        return List.of();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, VerifiedIdentity> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedIdentity identity, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), identity.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return (remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bytebites.gateway.controller;
+
+import com.bytebites.gateway.config.VerifiedIdentity;
+import com.bytebites.gateway.config.VerifiedTokenCache;
+import com.bytebites.gateway.dto.OrderStatusUpdate;
+import com.bytebites.gateway.service.OrderEventRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pushes a customer's order status changes as server-sent events, served by the
+ * gateway itself so an idle stream costs one Netty channel and no backend
+ * connection. Handled here rather than routed, so it checks the token itself;
+ * browsers' EventSource cannot set headers and may pass it as {@code access_token}.
+ */
+@RestController
+public class OrderEventsController {
+
+    private static final String CUSTOMER_ROLE = "ROLE_CUSTOMER";
+
+    private final VerifiedTokenCache tokenCache;
+    private final OrderEventRegistry registry;
+
+    public OrderEventsController(VerifiedTokenCache tokenCache, OrderEventRegistry registry) {
+        this.tokenCache = tokenCache;
+        this.registry = registry;
+    }
+
+    @GetMapping(path = "/api/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<OrderStatusUpdate>>> streamOrderEvents(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(name = "access_token", required = false) String accessToken,
+            @RequestParam(required = false) Long orderId) {
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : accessToken;
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        VerifiedIdentity identity;
+        Long customerId;
+        try {
+            identity = tokenCache.verify(token);
+            customerId = Long.valueOf(identity.subject());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!identity.roles().contains(CUSTOMER_ROLE)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (registry.isFull()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+
+        // The stream ends with the token; the client reconnects with a fresh one
+        Duration remaining = Duration.between(Instant.now(), identity.expiresAt());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // Stops proxies such as nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(registry.stream(customerId, orderId).take(remaining));
+    }
+}
@@ -0,0 +1,15 @@
+package com.bytebites.gateway.dto;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of an {@code order-status} server-sent event.
+ */
+public record OrderStatusUpdate(Long orderId, String previousStatus, String status, LocalDateTime changedAt) {
+
+    public static OrderStatusUpdate from(OrderStatusChangedEvent event) {
+        return new OrderStatusUpdate(event.orderId(), event.previousStatus(), event.status(), event.changedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.bytebites.gateway.listener;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.gateway.service.OrderEventRegistry;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderStatusListener {
+
+    private final OrderEventRegistry registry;
+
+    public OrderStatusListener(OrderEventRegistry registry) {
+        this.registry = registry;
+    }
+
+    // A single consumer keeps the emissions into each customer's sink serialized
+    @RabbitListener(queues = "#{orderStatusQueue.name}", concurrency = "1")
+    public void handleStatusChanged(OrderStatusChangedEvent event) {
+        registry.publish(event);
+    }
+}
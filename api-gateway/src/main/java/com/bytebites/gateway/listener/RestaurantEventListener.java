@@ -0,0 +1,30 @@
+package com.bytebites.gateway.listener;
+
+import com.bytebites.contracts.event.RestaurantUpdatedEvent;
+import com.bytebites.gateway.service.ResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RestaurantEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestaurantEventListener.class);
+
+    private static final String RESTAURANTS_PATH = "/api/restaurants";
+
+    private final ResponseCache responseCache;
+
+    public RestaurantEventListener(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    // The listing contains every restaurant, so it goes together with the one that changed
+    @RabbitListener(queues = "#{restaurantUpdatesQueue.name}")
+    public void handleRestaurantUpdated(RestaurantUpdatedEvent event) {
+        LOGGER.debug("Restaurant {} changed, evicting cached responses", event.restaurantId());
+        String restaurantPath = RESTAURANTS_PATH + "/" + event.restaurantId();
+        responseCache.invalidate(path -> path.equals(RESTAURANTS_PATH) || path.equals(restaurantPath));
+    }
+}
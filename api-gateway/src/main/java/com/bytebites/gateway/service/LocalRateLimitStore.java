@@ -0,0 +1,53 @@
+package com.bytebites.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process buckets for a single gateway node. Each bucket is one
+ * {@link AtomicLong} holding the time at which it would be full again
+ * (the generic cell rate algorithm), so taking a token is a compare-and-set
+ * with no lock and no refill timer. Buckets idle for longer than a full
+ * refill are dropped, since a new bucket starts full anyway.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    static final String CACHE_NAME = "rate-limit-buckets";
+
+    private static final Mono<Decision> ALLOWED = Mono.just(Decision.ALLOWED);
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimitStore(long maximumKeys, Duration idleTimeout, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Decision> tryAcquire(String key, Limit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = interval * limit.burstCapacity();
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > tolerance) {
+                return Mono.just(Decision.rejected(Duration.ofNanos(next - now - tolerance)));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+}
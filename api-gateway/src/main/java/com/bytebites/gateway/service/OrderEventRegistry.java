@@ -0,0 +1,109 @@
+package com.bytebites.gateway.service;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.gateway.dto.OrderStatusUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the open order-status streams on this node. An idle connection
+ * costs one subscription to its customer's sink: there is no per-connection
+ * buffer or timer, and keep-alives come from a single shared ticker. Sinks are
+ * created with a customer's first stream and dropped with the last one, so
+ * events for customers without a stream are discarded after one map lookup.
+ */
+@Service
+public class OrderEventRegistry {
+
+    static final String EVENT_NAME = "order-status";
+
+    private final Map<Long, CustomerChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final int maxConnections;
+    private final Flux<ServerSentEvent<OrderStatusUpdate>> keepAlive;
+    private final Counter delivered;
+
+    public OrderEventRegistry(MeterRegistry meterRegistry,
+                              @Value("${gateway.order-events.max-connections:100000}") int maxConnections,
+                              @Value("${gateway.order-events.keep-alive:30s}") Duration keepAliveInterval) {
+        this.maxConnections = maxConnections;
+        this.keepAlive = Flux.interval(keepAliveInterval)
+                .map(tick -> ServerSentEvent.<OrderStatusUpdate>builder().comment("keep-alive").build())
+                .share();
+        this.delivered = Counter.builder("gateway.order-events.published").register(meterRegistry);
+        Gauge.builder("gateway.order-events.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("gateway.order-events.customers", channels, Map::size).register(meterRegistry);
+    }
+
+    public boolean isFull() {
+        return connections.get() >= maxConnections;
+    }
+
+    /**
+     * Opens a stream of a customer's status changes, limited to one order if
+     * {@code orderId} is given. The connection is registered on subscribe and
+     * released when the client goes away or the stream is cut off.
+     */
+    public Flux<ServerSentEvent<OrderStatusUpdate>> stream(Long customerId, Long orderId) {
+        return Flux.using(
+                () -> register(customerId),
+                channel -> Flux.merge(
+                        channel.sink.asFlux()
+                                .filter(update -> orderId == null || orderId.equals(update.orderId()))
+                                .map(OrderEventRegistry::toEvent),
+                        keepAlive),
+                channel -> release(customerId));
+    }
+
+    public void publish(OrderStatusChangedEvent event) {
+        CustomerChannel channel = channels.get(event.customerId());
+        if (channel == null) {
+            return;
+        }
+        // Best effort: a stream that has no demand right now misses the update and
+        // its client catches up with a GET after reconnecting
+        if (channel.sink.tryEmitNext(OrderStatusUpdate.from(event)).isSuccess()) {
+            delivered.increment();
+        }
+    }
+
+    private CustomerChannel register(Long customerId) {
+        connections.incrementAndGet();
+        return channels.compute(customerId, (id, channel) -> {
+            CustomerChannel registered = channel == null ? new CustomerChannel() : channel;
+            registered.streams++;
+            return registered;
+        });
+    }
+
+    private void release(Long customerId) {
+        connections.decrementAndGet();
+        channels.computeIfPresent(customerId, (id, channel) -> --channel.streams == 0 ? null : channel);
+    }
+
+    private static ServerSentEvent<OrderStatusUpdate> toEvent(OrderStatusUpdate update) {
+        return ServerSentEvent.builder(update)
+                .event(EVENT_NAME)
+                .id(update.orderId() + ":" + update.status())
+                .build();
+    }
+
+    private static final class CustomerChannel {
+
+        // No buffer of its own; subscribers without demand simply miss the event
+        private final Sinks.Many<OrderStatusUpdate> sink = Sinks.many().multicast().directBestEffort();
+        // Only changed inside ConcurrentHashMap.compute, which serializes access per key
+        private int streams;
+    }
+}
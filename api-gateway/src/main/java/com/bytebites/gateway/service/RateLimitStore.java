@@ -0,0 +1,49 @@
+package com.bytebites.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Holds the token buckets behind the gateway's rate limits. A single node uses
+ * {@link LocalRateLimitStore}; a cluster that needs one budget across nodes
+ * registers its own bean backed by a shared store, which takes precedence.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket of {@code key}, creating a full bucket for
+     * a key seen for the first time.
+     */
+    Mono<Decision> tryAcquire(String key, Limit limit);
+
+    /**
+     * Refills {@code replenishRate} tokens per second up to {@code burstCapacity}.
+     */
+    record Limit(double replenishRate, long burstCapacity) {
+
+        public Limit {
+            if (replenishRate <= 0 || burstCapacity < 1) {
+                throw new IllegalArgumentException("Rate limits need a positive rate and capacity");
+            }
+        }
+
+        public long emissionIntervalNanos() {
+            return Math.max(1, Math.round(1_000_000_000 / replenishRate));
+        }
+
+        // Time for an empty bucket to fill up again
+        public Duration refillTime() {
+            return Duration.ofNanos(emissionIntervalNanos() * burstCapacity);
+        }
+    }
+
+    record Decision(boolean allowed, Duration retryAfter) {
+
+        public static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        public static Decision rejected(Duration retryAfter) {
+            return new Decision(false, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.bytebites.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Successful responses to public GETs, kept for {@code ttl} within a memory
+ * budget and dropped early by {@link #invalidate} when the data behind them
+ * changes. Entries are keyed on the content negotiation headers as well as the
+ * URL, and only served to requests that also match the headers named in the
+ * response's {@code Vary}. Hits and misses are published as
+ * {@code cache.gets{cache=gateway-responses}}.
+ */
+@Service
+public class ResponseCache {
+
+    static final String CACHE_NAME = "gateway-responses";
+
+    private final List<PathPattern> paths;
+    private final long maxEntryBytes;
+    private final Cache<Key, Entry> cache;
+    // Bumped by every invalidation so a response fetched before it is not stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.paths:/api/restaurants,/api/restaurants/*}") List<String> paths,
+                         @Value("${gateway.response-cache.ttl:5m}") Duration ttl,
+                         @Value("${gateway.response-cache.max-memory:64MB}") DataSize maxMemory,
+                         @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Key key, Entry entry) -> entry.body().length + key.path().length())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isCacheable(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Entry get(Key key, HttpHeaders requestHeaders) {
+        Entry entry = cache.getIfPresent(key);
+        return entry != null && entry.matches(requestHeaders) ? entry : null;
+    }
+
+    /**
+     * Stores a response fetched while {@code fetchedAt} was the current
+     * generation, unless an invalidation has happened since.
+     */
+    public void put(Key key, Entry entry, long fetchedAt) {
+        cache.put(key, entry);
+        if (generation.get() != fetchedAt) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(Predicate<String> path) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> path.test(key.path()));
+    }
+
+    public record Key(String path, String query, String accept, String acceptEncoding) {
+
+        public static Key of(String path, String query, HttpHeaders requestHeaders) {
+            int end = path.length();
+            while (end > 1 && path.charAt(end - 1) == '/') {
+                end--;
+            }
+            return new Key(path.substring(0, end), query != null ? query : "",
+                    String.join(",", requestHeaders.getOrEmpty(HttpHeaders.ACCEPT)),
+                    String.join(",", requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)));
+        }
+    }
+
+    /**
+     * A response body with the upstream headers to replay alongside it, and the
+     * values the storing request had for each header the response varies on.
+     */
+    public record Entry(HttpHeaders headers, byte[] body, String etag, Map<String, List<String>> varied) {
+
+        public static Entry of(HttpHeaders responseHeaders, byte[] body, String etag, HttpHeaders requestHeaders) {
+            Map<String, List<String>> varied = new LinkedHashMap<>();
+            for (String name : responseHeaders.getVary()) {
+                varied.put(name.toLowerCase(Locale.ROOT), List.copyOf(requestHeaders.getOrEmpty(name)));
+            }
+            return new Entry(HttpHeaders.readOnlyHttpHeaders(responseHeaders), body, etag, Map.copyOf(varied));
+        }
+
+        boolean matches(HttpHeaders requestHeaders) {
+            for (Map.Entry<String, List<String>> header : varied.entrySet()) {
+                if (!header.getValue().equals(requestHeaders.getOrEmpty(header.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
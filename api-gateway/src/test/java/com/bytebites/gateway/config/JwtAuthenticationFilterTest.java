@@ -0,0 +1,110 @@
+package com.bytebites.gateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.bytebites.gateway.config.VerifiedTokenCacheTest.SECRET;
+import static com.bytebites.gateway.config.VerifiedTokenCacheTest.token;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtAuthenticationFilter filter;
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        AuthPolicyProperties.Rule publicRule = new AuthPolicyProperties.Rule();
+        publicRule.setPaths(List.of("/api/restaurants"));
+        publicRule.setAccess(RoutePolicy.Access.PUBLIC);
+        AuthPolicyProperties.Rule adminRule = new AuthPolicyProperties.Rule();
+        adminRule.setPaths(List.of("/auth/admin/**"));
+        adminRule.setRoles(List.of("ROLE_ADMIN"));
+        AuthPolicyProperties properties = new AuthPolicyProperties();
+        properties.setRules(List.of(publicRule, adminRule));
+
+        IdentityHeaderSigner signer = new IdentityHeaderSigner(SECRET);
+        filter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(SECRET, 1_000, Duration.ofHours(1), signer, new SimpleMeterRegistry()),
+                new RoutePolicyMatcher(properties));
+    }
+
+    @Test
+    @DisplayName("Should strip client-supplied identity headers on public routes")
+    void shouldStripSpoofedHeadersOnPublicRoutes() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants")
+                .header(IdentityHeaderSigner.USER_HEADER, "admin")
+                .header(IdentityHeaderSigner.ROLES_HEADER, "ROLE_ADMIN")
+                .header(IdentityHeaderSigner.EXPIRES_HEADER, "9999999999")
+                .header(IdentityHeaderSigner.SIGNATURE_HEADER, "forged"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(IdentityHeaderSigner.HEADERS).noneMatch(headers::containsKey);
+    }
+
+    @Test
+    @DisplayName("Should replace client-supplied identity headers with the verified ones")
+    void shouldReplaceSpoofedHeadersWithVerifiedIdentity() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/my-orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(SECRET, "alice", expiresAt))
+                .header(IdentityHeaderSigner.USER_HEADER, "admin")
+                .header(IdentityHeaderSigner.ROLES_HEADER, "ROLE_ADMIN")
+                .header(IdentityHeaderSigner.SIGNATURE_HEADER, "forged"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.get(IdentityHeaderSigner.USER_HEADER)).containsExactly("alice");
+        assertThat(headers.get(IdentityHeaderSigner.ROLES_HEADER)).containsExactly("ROLE_CUSTOMER");
+        String expires = headers.getFirst(IdentityHeaderSigner.EXPIRES_HEADER);
+        assertThat(headers.get(IdentityHeaderSigner.SIGNATURE_HEADER)).containsExactly(
+                new IdentityHeaderSigner(SECRET).sign("alice", "ROLE_CUSTOMER", Long.parseLong(expires)));
+    }
+
+    @Test
+    @DisplayName("Should reject spoofed identity headers without a token")
+    void shouldRejectHeadersWithoutToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/my-orders")
+                .header(IdentityHeaderSigner.USER_HEADER, "admin")
+                .header(IdentityHeaderSigner.ROLES_HEADER, "ROLE_CUSTOMER"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 403 when the token lacks the route's role")
+    void shouldRejectMissingRole() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/auth/admin/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer "
+                        + token(SECRET, "alice", Instant.now().plus(Duration.ofHours(1)))));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(forwarded.get()).isNull();
+    }
+}
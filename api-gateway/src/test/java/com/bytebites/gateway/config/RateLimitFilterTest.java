@@ -0,0 +1,138 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.LocalRateLimitStore;
+import com.bytebites.gateway.service.RateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private static final InetSocketAddress CLIENT = new InetSocketAddress("203.0.113.7", 52000);
+
+    private final RateLimitConfig config = new RateLimitConfig();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = mock(RateLimitStore.class);
+        when(store.tryAcquire(anyString(), any())).thenReturn(Mono.just(RateLimitStore.Decision.ALLOWED));
+    }
+
+    @Test
+    @DisplayName("Should only create the local store when no other store bean is registered")
+    void shouldPreferCustomStore() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+        runner.withUserConfiguration(RateLimitConfig.class)
+                .run(context -> assertThat(context).getBean(RateLimitStore.class).isInstanceOf(LocalRateLimitStore.class));
+        runner.withBean(RateLimitStore.class, () -> store)
+                .withUserConfiguration(RateLimitConfig.class)
+                .run(context -> assertThat(context).getBean(RateLimitStore.class).isSameAs(store));
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous requests by the client address")
+    void shouldKeyClientLimitOnRemoteAddress() {
+        RateLimitFilter filter = config.clientRateLimitFilter(store, meterRegistry, 50, 100, 0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants")
+                .remoteAddress(CLIENT)
+                .header("X-Forwarded-For", "198.51.100.1"));
+
+        filter.filter(exchange, chain).block();
+
+        verify(store).tryAcquire("client:203.0.113.7", new RateLimitStore.Limit(50, 100));
+        assertThat(forwarded).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should take the client from X-Forwarded-For behind trusted proxies, ignoring spoofed entries")
+    void shouldKeyClientLimitOnForwardedAddress() {
+        RateLimitFilter filter = config.clientRateLimitFilter(store, meterRegistry, 50, 100, 1);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 443))
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.7"));
+
+        filter.filter(exchange, chain).block();
+
+        verify(store).tryAcquire(eq("client:203.0.113.7"), any());
+    }
+
+    @Test
+    @DisplayName("Should limit authenticated requests by subject and skip requests without an identity")
+    void shouldKeyUserLimitOnSubject() {
+        RateLimitFilter filter = config.userRateLimitFilter(store, meterRegistry, 20, 40);
+        MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants")
+                .remoteAddress(CLIENT));
+        MockServerWebExchange authenticated = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .remoteAddress(CLIENT));
+        authenticated.getAttributes().put(JwtAuthenticationFilter.IDENTITY_ATTRIBUTE,
+                new VerifiedIdentity("alice", List.of("ROLE_CUSTOMER"), Instant.now().plusSeconds(60), "sig"));
+
+        filter.filter(anonymous, chain).block();
+        filter.filter(authenticated, chain).block();
+
+        verify(store, times(1)).tryAcquire(anyString(), any());
+        verify(store).tryAcquire("user:alice", new RateLimitStore.Limit(20, 40));
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After rounded up to whole seconds")
+    void shouldRejectWithRetryAfter() {
+        when(store.tryAcquire(anyString(), any()))
+                .thenReturn(Mono.just(RateLimitStore.Decision.rejected(Duration.ofMillis(1_200))));
+        RateLimitFilter filter = config.clientRateLimitFilter(store, meterRegistry, 50, 100, 0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants")
+                .remoteAddress(CLIENT));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(forwarded).hasValue(0);
+        assertThat(meterRegistry.get("gateway.rate-limit.rejected").tag("limit", "client").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let requests through when the store fails")
+    void shouldFailOpen() {
+        when(store.tryAcquire(anyString(), any())).thenReturn(Mono.error(new IllegalStateException("down")));
+        RateLimitFilter filter = config.clientRateLimitFilter(store, meterRegistry, 50, 100, 0);
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/restaurants").remoteAddress(CLIENT)),
+                chain).block();
+
+        assertThat(forwarded).hasValue(1);
+    }
+}
@@ -0,0 +1,236 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.RateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class RequestCoalescingFilterTest {
+
+    private static final String BODY = "{\"id\":3,\"menu\":[]}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    // Held by the first upstream call until the test releases it
+    private final Sinks.Empty<Void> release = Sinks.empty();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(meterRegistry, List.of("/api/restaurants/*", "/api/restaurants/*/menu"),
+                DataSize.ofKilobytes(64));
+    }
+
+    @Test
+    @DisplayName("Should run after token verification and the rate limits, before the response is written")
+    void shouldRunAfterAuthenticationAndRateLimits() {
+        RateLimitConfig config = new RateLimitConfig();
+        RateLimitStore store = mock(RateLimitStore.class);
+        int clientLimit = config.clientRateLimitFilter(store, meterRegistry, 50, 100, 0).getOrder();
+        int userLimit = config.userRateLimitFilter(store, meterRegistry, 20, 40).getOrder();
+
+        assertThat(filter.getOrder())
+                .isGreaterThan(clientLimit)
+                .isGreaterThan(JwtAuthenticationFilter.ORDER)
+                .isGreaterThan(userLimit)
+                .isGreaterThan(ResponseCacheFilter.ORDER)
+                .isLessThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
+        assertThat(JwtAuthenticationFilter.ORDER).isLessThan(userLimit);
+    }
+
+    @Test
+    @DisplayName("Should answer callers overlapping the leader with a copy of its response")
+    void shouldShareLeaderResponse() {
+        MockServerWebExchange leader = exchange("/api/restaurants/3/menu");
+        MockServerWebExchange follower = exchange("/api/restaurants/3/menu");
+        GatewayFilterChain upstream = upstream(HttpStatus.OK);
+
+        CompletableFuture<Void> leading = filter.filter(leader, upstream).toFuture();
+        CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+        assertThat(following).isNotDone();
+        assertThat(gauge()).isEqualTo(1);
+        release.tryEmitEmpty();
+        leading.join();
+        following.join();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(follower.getResponse().getHeaders().getContentLength()).isEqualTo(BODY.length());
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("role", "follower").counter().count())
+                .isEqualTo(1);
+        assertThat(gauge()).isZero();
+
+        // Nothing is kept once the leader is done
+        filter.filter(exchange("/api/restaurants/3/menu"), upstream).block(Duration.ofSeconds(5));
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not coalesce requests with different credentials or other methods")
+    void shouldSeparateCallers() {
+        GatewayFilterChain upstream = upstream(HttpStatus.OK);
+
+        CompletableFuture<Void> leader = filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/restaurants/3").header(HttpHeaders.AUTHORIZATION, "Bearer alice")), upstream).toFuture();
+        CompletableFuture<Void> otherUser = filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/restaurants/3").header(HttpHeaders.AUTHORIZATION, "Bearer bob")), upstream).toFuture();
+        CompletableFuture<Void> write = filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .put("/api/restaurants/3").header(HttpHeaders.AUTHORIZATION, "Bearer alice")), upstream).toFuture();
+        release.tryEmitEmpty();
+        CompletableFuture.allOf(leader, otherUser, write).join();
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should send followers upstream themselves when the leader fails")
+    void shouldFallBackWhenLeaderFails() {
+        MockServerWebExchange follower = exchange("/api/restaurants/3");
+        GatewayFilterChain upstream = exchange -> upstreamCalls.incrementAndGet() == 1
+                ? release.asMono().then(Mono.error(new IllegalStateException("connection reset")))
+                : respond(exchange, HttpStatus.OK);
+
+        CompletableFuture<Void> leading = filter.filter(exchange("/api/restaurants/3"), upstream).toFuture();
+        CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+        release.tryEmitEmpty();
+
+        assertThatThrownBy(leading::join).hasCauseInstanceOf(IllegalStateException.class);
+        following.join();
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(gauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send followers upstream themselves when the leader's caller goes away")
+    void shouldFallBackWhenLeaderIsCancelled() {
+        MockServerWebExchange follower = exchange("/api/restaurants/3");
+        GatewayFilterChain upstream = upstream(HttpStatus.OK);
+
+        Disposable leading = filter.filter(exchange("/api/restaurants/3"), upstream).subscribe();
+        CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+        leading.dispose();
+        following.join();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(gauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only share 200 responses that set no cookies")
+    void shouldOnlyShareResponsesWithoutCookies() {
+        MockServerWebExchange notFound = exchange("/api/restaurants/9");
+        GatewayFilterChain missing = upstream(HttpStatus.NOT_FOUND);
+        CompletableFuture<Void> leading = filter.filter(exchange("/api/restaurants/9"), missing).toFuture();
+        CompletableFuture<Void> following = filter.filter(notFound, missing).toFuture();
+        release.tryEmitEmpty();
+        CompletableFuture.allOf(leading, following).join();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(notFound.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        Sinks.Empty<Void> cookieRelease = Sinks.empty();
+        GatewayFilterChain withCookie = exchange -> {
+            exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "session=1");
+            return upstreamCalls.incrementAndGet() == 3
+                    ? cookieRelease.asMono().then(respond(exchange, HttpStatus.OK))
+                    : respond(exchange, HttpStatus.OK);
+        };
+        MockServerWebExchange cookieFollower = exchange("/api/restaurants/3");
+        leading = filter.filter(exchange("/api/restaurants/3"), withCookie).toFuture();
+        following = filter.filter(cookieFollower, withCookie).toFuture();
+        cookieRelease.tryEmitEmpty();
+        CompletableFuture.allOf(leading, following).join();
+
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(cookieFollower.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE)).containsExactly("session=1");
+    }
+
+    @Test
+    @DisplayName("Should not hand a conditional request's 304 to a concurrent unconditional request")
+    void shouldNotCoalesceConditionalRequests() {
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/restaurants/3/menu").accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"menu-v1\""));
+        MockServerWebExchange unconditional = exchange("/api/restaurants/3/menu");
+        // Answers 304 to a caller holding the current ETag, like MenuController
+        GatewayFilterChain upstream = exchange -> Mono.defer(() -> {
+            Mono<Void> wait = upstreamCalls.incrementAndGet() == 1 ? release.asMono() : Mono.empty();
+            if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+                return wait.then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return exchange.getResponse().setComplete();
+                }));
+            }
+            return wait.then(respond(exchange, HttpStatus.OK));
+        });
+
+        CompletableFuture<Void> first = filter.filter(conditional, upstream).toFuture();
+        CompletableFuture<Void> second = filter.filter(unconditional, upstream).toFuture();
+        release.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unconditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(unconditional.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("role", "follower").counter().count())
+                .isZero();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).accept(MediaType.APPLICATION_JSON));
+    }
+
+    // The first call waits for the test to release it, later ones answer at once
+    private GatewayFilterChain upstream(HttpStatus status) {
+        return exchange -> Mono.defer(() -> upstreamCalls.incrementAndGet() == 1
+                ? release.asMono().then(respond(exchange, status))
+                : respond(exchange, status));
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status) {
+        return Mono.defer(() -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        });
+    }
+
+    private double gauge() {
+        return meterRegistry.get("gateway.coalescing.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bytebites.gateway.config;
+
+import com.bytebites.gateway.service.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":3,\"name\":\"Luigi's\"}]";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = filter(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated GET from the cache with the upstream headers")
+    void shouldReplayStoredResponse() {
+        Consumer<HttpHeaders> upstreamHeaders = headers -> {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setCacheControl("max-age=60");
+            headers.set(HttpHeaders.CONTENT_LANGUAGE, "en");
+            headers.set(HttpHeaders.DATE, "Mon, 01 Jan 2024 00:00:00 GMT");
+        };
+
+        MockServerWebExchange miss = exchange(MockServerHttpRequest.get("/api/restaurants"));
+        filter.filter(miss, upstream(upstreamHeaders)).block();
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/api/restaurants/"));
+        filter.filter(hit, upstream(upstreamHeaders)).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(miss.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        HttpHeaders headers = hit.getResponse().getHeaders();
+        assertThat(hit.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(hit.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(headers.getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(headers.getCacheControl()).isEqualTo("max-age=60");
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_LANGUAGE)).isEqualTo("en");
+        assertThat(headers.containsKey(HttpHeaders.DATE)).isFalse();
+        assertThat(headers.getContentLength()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(headers.getETag()).isEqualTo(miss.getResponse().getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without a body when If-None-Match carries the current ETag")
+    void shouldAnswerNotModified() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/restaurants/3"));
+        filter.filter(first, upstream(headers -> headers.setContentType(MediaType.APPLICATION_JSON))).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertThat(first.getResponse().getHeaders().getCacheControl()).isEqualTo("no-cache");
+
+        MockServerWebExchange revalidated = exchange(MockServerHttpRequest.get("/api/restaurants/3")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+        filter.filter(revalidated, upstream(headers -> { })).block();
+        MockServerWebExchange changed = exchange(MockServerHttpRequest.get("/api/restaurants/3")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""));
+        filter.filter(changed, upstream(headers -> { })).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEmpty();
+        assertThat(revalidated.getResponse().getHeaders().getETag()).isEqualTo(etag);
+        assertThat(revalidated.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_TYPE)).isFalse();
+        assertThat(changed.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get("gateway.response-cache.not-modified").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep separate entries per Accept, Accept-Encoding and Vary header")
+    void shouldKeyOnNegotiatedHeaders() {
+        Consumer<HttpHeaders> varyOnOrigin = headers -> headers.setVary(List.of("Origin"));
+
+        get(MockServerHttpRequest.get("/api/restaurants").header(HttpHeaders.ACCEPT, "application/json"), varyOnOrigin);
+        get(MockServerHttpRequest.get("/api/restaurants").header(HttpHeaders.ACCEPT, "application/xml"), varyOnOrigin);
+        get(MockServerHttpRequest.get("/api/restaurants").header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), varyOnOrigin);
+        assertThat(upstreamCalls).hasValue(3);
+
+        get(MockServerHttpRequest.get("/api/restaurants/3").header(HttpHeaders.ORIGIN, "https://a.example"), varyOnOrigin);
+        MockServerWebExchange sameOrigin = get(MockServerHttpRequest.get("/api/restaurants/3")
+                .header(HttpHeaders.ORIGIN, "https://a.example"), varyOnOrigin);
+        get(MockServerHttpRequest.get("/api/restaurants/3").header(HttpHeaders.ORIGIN, "https://b.example"), varyOnOrigin);
+
+        assertThat(upstreamCalls).hasValue(5);
+        assertThat(sameOrigin.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER))
+                .isEqualTo("HIT");
+        assertThat(sameOrigin.getResponse().getHeaders().getVary()).containsExactly("Origin");
+    }
+
+    @Test
+    @DisplayName("Should not store responses upstream marked private, no-store or Vary: *")
+    void shouldHonourUpstreamCacheControl() {
+        for (Consumer<HttpHeaders> headers : List.<Consumer<HttpHeaders>>of(
+                h -> h.setCacheControl("no-store"),
+                h -> h.setCacheControl("private, max-age=60"),
+                h -> h.setVary(List.of("*")),
+                h -> h.add(HttpHeaders.SET_COOKIE, "session=1"))) {
+            upstreamCalls.set(0);
+            filter = filter(Duration.ofMinutes(5));
+
+            get(MockServerHttpRequest.get("/api/restaurants"), headers);
+            MockServerWebExchange second = get(MockServerHttpRequest.get("/api/restaurants"), headers);
+
+            assertThat(upstreamCalls).hasValue(2);
+            assertThat(second.getResponse().getHeaders().containsKey(ResponseCacheFilter.CACHE_STATUS_HEADER)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should go upstream again once an entry has outlived its TTL")
+    void shouldExpireEntries() throws InterruptedException {
+        filter = filter(Duration.ofMillis(200));
+
+        get(MockServerHttpRequest.get("/api/restaurants"), headers -> { });
+        get(MockServerHttpRequest.get("/api/restaurants"), headers -> { });
+        assertThat(upstreamCalls).hasValue(1);
+
+        Thread.sleep(300);
+        get(MockServerHttpRequest.get("/api/restaurants"), headers -> { });
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should only cache public GETs on the configured paths")
+    void shouldSkipOtherRequests() {
+        get(MockServerHttpRequest.get("/api/orders/3"), headers -> { });
+        get(MockServerHttpRequest.get("/api/orders/3"), headers -> { });
+        get(MockServerHttpRequest.post("/api/restaurants"), headers -> { });
+        get(MockServerHttpRequest.post("/api/restaurants"), headers -> { });
+
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    private MockServerWebExchange get(MockServerHttpRequest.BaseBuilder<?> request, Consumer<HttpHeaders> headers) {
+        MockServerWebExchange exchange = exchange(request);
+        filter.filter(exchange, upstream(headers)).block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private GatewayFilterChain upstream(Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            headers.accept(response.getHeaders());
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private ResponseCacheFilter filter(Duration ttl) {
+        AuthPolicyProperties.Rule publicRule = new AuthPolicyProperties.Rule();
+        publicRule.setPaths(List.of("/api/restaurants", "/api/restaurants/*"));
+        publicRule.setMethods(List.of("GET"));
+        publicRule.setAccess(RoutePolicy.Access.PUBLIC);
+        AuthPolicyProperties properties = new AuthPolicyProperties();
+        properties.setRules(List.of(publicRule));
+        ResponseCache cache = new ResponseCache(meterRegistry, List.of("/api/restaurants", "/api/restaurants/*"), ttl,
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        return new ResponseCacheFilter(cache, new RoutePolicyMatcher(properties), meterRegistry);
+    }
+}
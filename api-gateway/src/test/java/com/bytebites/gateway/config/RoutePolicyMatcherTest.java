@@ -0,0 +1,149 @@
+package com.bytebites.gateway.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoutePolicyMatcherTest {
+
+    private static final RoutePolicy PUBLIC = new RoutePolicy(RoutePolicy.Access.PUBLIC, Set.of());
+    private static final RoutePolicy AUTHENTICATED = new RoutePolicy(RoutePolicy.Access.AUTHENTICATED, Set.of());
+    private static final RoutePolicy ADMIN = new RoutePolicy(RoutePolicy.Access.AUTHENTICATED, Set.of("ROLE_ADMIN"));
+    private static final RoutePolicy OWNER =
+            new RoutePolicy(RoutePolicy.Access.AUTHENTICATED, Set.of("ROLE_RESTAURANT_OWNER"));
+    private static final RoutePolicy CUSTOMER = new RoutePolicy(RoutePolicy.Access.AUTHENTICATED, Set.of("ROLE_CUSTOMER"));
+
+    private List<AuthPolicyProperties.Rule> rules;
+    private RoutePolicyMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        rules = new ArrayList<>(List.of(
+                rule(List.of("/auth/login", "/auth/oauth2/**"), List.of(), RoutePolicy.Access.PUBLIC, List.of()),
+                rule(List.of("/auth/admin/**"), List.of(), RoutePolicy.Access.AUTHENTICATED, List.of("ROLE_ADMIN")),
+                rule(List.of("/api/restaurants", "/api/restaurants/*", "/api/restaurants/{id}/menu"), List.of("GET"),
+                        RoutePolicy.Access.PUBLIC, List.of()),
+                rule(List.of("/api/restaurants/my-restaurants", "/api/restaurants/*/kitchen"), List.of("GET"),
+                        RoutePolicy.Access.AUTHENTICATED, List.of("ROLE_RESTAURANT_OWNER")),
+                rule(List.of("/api/restaurants", "/api/restaurants/*"), List.of("post", "PUT"),
+                        RoutePolicy.Access.AUTHENTICATED, List.of("ROLE_RESTAURANT_OWNER")),
+                rule(List.of("/api/orders/*"), List.of("GET"), RoutePolicy.Access.AUTHENTICATED, List.of("ROLE_CUSTOMER"))));
+        matcher = new RoutePolicyMatcher(properties(RoutePolicy.Access.AUTHENTICATED));
+    }
+
+    @Test
+    @DisplayName("Should match literals, single-segment wildcards and a trailing **")
+    void shouldMatchWildcards() {
+        assertThat(matcher.resolve("POST", "/auth/login")).isEqualTo(PUBLIC);
+        assertThat(matcher.resolve("GET", "/auth/oauth2/authorization/google")).isEqualTo(PUBLIC);
+        assertThat(matcher.resolve("GET", "/auth/admin")).isEqualTo(ADMIN);
+        assertThat(matcher.resolve("DELETE", "/auth/admin/users/5")).isEqualTo(ADMIN);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7")).isEqualTo(PUBLIC);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/menu")).isEqualTo(PUBLIC);
+        assertThat(matcher.resolve("GET", "/api/orders/12")).isEqualTo(CUSTOMER);
+    }
+
+    @Test
+    @DisplayName("Should prefer the most specific rule whatever the order of the rules")
+    void shouldPreferMostSpecificRule() {
+        assertThat(matcher.resolve("GET", "/api/restaurants/my-restaurants")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/kitchen")).isEqualTo(OWNER);
+
+        Collections.reverse(rules);
+        RoutePolicyMatcher reversed = new RoutePolicyMatcher(properties(RoutePolicy.Access.AUTHENTICATED));
+
+        assertThat(reversed.resolve("GET", "/api/restaurants/my-restaurants")).isEqualTo(OWNER);
+        assertThat(reversed.resolve("GET", "/api/restaurants/7")).isEqualTo(PUBLIC);
+    }
+
+    @Test
+    @DisplayName("Should apply method-specific rules only to their methods")
+    void shouldMatchMethods() {
+        assertThat(matcher.resolve("GET", "/api/restaurants")).isEqualTo(PUBLIC);
+        assertThat(matcher.resolve("POST", "/api/restaurants")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("PUT", "/api/restaurants/7")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("DELETE", "/api/restaurants/7")).isEqualTo(AUTHENTICATED);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default policy for paths without a rule")
+    void shouldUseDefaultPolicy() {
+        assertThat(matcher.resolve("GET", "/api/payments/1")).isEqualTo(AUTHENTICATED);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/reviews")).isEqualTo(AUTHENTICATED);
+        assertThat(matcher.resolve("GET", "/")).isEqualTo(AUTHENTICATED);
+
+        RoutePolicyMatcher open = new RoutePolicyMatcher(properties(RoutePolicy.Access.PUBLIC));
+        assertThat(open.resolve("GET", "/api/payments/1")).isEqualTo(PUBLIC);
+    }
+
+    @Test
+    @DisplayName("Should ignore trailing and doubled slashes")
+    void shouldIgnoreEmptySegments() {
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/kitchen/")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "//api//restaurants/7/kitchen")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/auth/admin/")).isEqualTo(ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should not let an encoded slash reach a more permissive rule")
+    void shouldSplitEncodedSlashes() {
+        // Raw, "7%2Fkitchen" is one segment and would match the public /api/restaurants/*
+        assertThat(matcher.resolve("GET", "/api/restaurants/7%2Fkitchen")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7%2fkitchen")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/auth%2Fadmin/users")).isEqualTo(ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should match other spellings of a path like the path itself")
+    void shouldNormalizeEncodedAndDottedPaths() {
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/%6Bitchen")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/kitchen;jsessionid=abc")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/api/restaurants/7/menu/../kitchen")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/auth/login/%2E%2E/admin/users")).isEqualTo(ADMIN);
+        assertThat(matcher.resolve("GET", "/api/restaurants/./my-restaurants")).isEqualTo(OWNER);
+        assertThat(matcher.resolve("GET", "/api/restaurants/%zz")).isEqualTo(PUBLIC);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rules at startup")
+    void shouldRejectInvalidRules() {
+        rules.add(rule(List.of("api/relative"), List.of(), RoutePolicy.Access.PUBLIC, List.of()));
+        assertThatThrownBy(() -> new RoutePolicyMatcher(properties(RoutePolicy.Access.AUTHENTICATED)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        rules.set(rules.size() - 1, rule(List.of("/api/**/items"), List.of(), RoutePolicy.Access.PUBLIC, List.of()));
+        assertThatThrownBy(() -> new RoutePolicyMatcher(properties(RoutePolicy.Access.AUTHENTICATED)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        rules.set(rules.size() - 1, rule(List.of("/api/orders/{orderId}"), List.of("GET"),
+                RoutePolicy.Access.PUBLIC, List.of()));
+        assertThatThrownBy(() -> new RoutePolicyMatcher(properties(RoutePolicy.Access.AUTHENTICATED)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate");
+    }
+
+    private AuthPolicyProperties properties(RoutePolicy.Access defaultAccess) {
+        AuthPolicyProperties properties = new AuthPolicyProperties();
+        properties.setDefaultAccess(defaultAccess);
+        properties.setRules(rules);
+        return properties;
+    }
+
+    private static AuthPolicyProperties.Rule rule(List<String> paths, List<String> methods,
+                                                  RoutePolicy.Access access, List<String> roles) {
+        AuthPolicyProperties.Rule rule = new AuthPolicyProperties.Rule();
+        rule.setPaths(paths);
+        rule.setMethods(methods);
+        rule.setAccess(access);
+        rule.setRoles(roles);
+        return rule;
+    }
+}
@@ -0,0 +1,133 @@
+package com.bytebites.gateway.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a local stub upstream through clients built like the gateway's route
+ * clients and prints the latency distribution of each pool and protocol setting,
+ * to size {@code gateway.upstreams} before changing it in production. Opt-in,
+ * run with {@code mvn test -Dtest=UpstreamClientBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UpstreamClientBenchmarkTest {
+
+    private static final int CONCURRENCY = 1_000;
+    private static final int REQUESTS = 20_000;
+    // Stand-in for a typical restaurant-service read
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(5);
+
+    @Test
+    @DisplayName("Report upstream latency for each connection setting")
+    void compareSettings() {
+        DisposableServer upstream = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> response.sendString(
+                        Mono.delay(UPSTREAM_LATENCY).thenReturn("{\"id\":1,\"name\":\"stub\"}")))
+                .bindNow();
+        try {
+            List<Setting> settings = List.of(
+                    new Setting("http1, 50 connections", 50, 100_000, Duration.ofSeconds(30), false),
+                    new Setting("http1, 500 connections", 500, 100_000, Duration.ofSeconds(30), false),
+                    new Setting("http1, 1000 connections", 1_000, 100_000, Duration.ofSeconds(30), false),
+                    new Setting("http1, 50 connections, 200 pending", 50, 200, Duration.ofMillis(100), false),
+                    new Setting("h2c, 8 connections", 8, 100_000, Duration.ofSeconds(30), true),
+                    new Setting("h2c, 50 connections", 50, 100_000, Duration.ofSeconds(30), true));
+
+            System.out.printf("%-36s %9s %7s %7s %7s %8s %8s %7s%n",
+                    "setting", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            for (Setting setting : settings) {
+                Result result = run(setting, upstream.port());
+                System.out.printf("%-36s %9.0f %7.1f %7.1f %7.1f %8.1f %8.1f %7d%n",
+                        setting.name(), result.throughput(), result.percentile(0.50), result.percentile(0.90),
+                        result.percentile(0.99), result.percentile(0.999), result.percentile(1.0), result.errors());
+                // Only a bounded pending queue is expected to turn requests away
+                if (setting.pendingAcquireMaxCount() >= CONCURRENCY) {
+                    assertThat(result.errors()).isZero();
+                }
+            }
+        } finally {
+            upstream.disposeNow();
+        }
+    }
+
+    private Result run(Setting setting, int port) {
+        UpstreamClientProperties.Upstream upstream = new UpstreamClientProperties.Upstream();
+        upstream.setMaxConnections(setting.maxConnections());
+        upstream.setPendingAcquireMaxCount(setting.pendingAcquireMaxCount());
+        upstream.setPendingAcquireTimeout(setting.pendingAcquireTimeout());
+        upstream.setH2c(setting.h2c());
+        HttpClientProperties defaults = new HttpClientProperties();
+        ServerProperties server = new ServerProperties();
+        HttpClient client = new UpstreamHttpClientFactory("benchmark", upstream, defaults, server,
+                new HttpClientSslConfigurer(defaults.getSsl(), server), List.of())
+                .build()
+                .baseUrl("http://localhost:" + port);
+        try {
+            fire(client, CONCURRENCY); // open connections and warm up the JIT
+            long start = System.nanoTime();
+            Fired fired = fire(client, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Result(REQUESTS / seconds, fired.latencies(), fired.errors());
+        } finally {
+            client.configuration().connectionProvider().disposeLater().block();
+        }
+    }
+
+    private Fired fire(HttpClient client, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return client.get().uri("/restaurants/1")
+                            .responseSingle((response, body) -> body.asString())
+                            .doOnSuccess(body -> latencies[i] = System.nanoTime() - start)
+                            .onErrorResume(e -> {
+                                errors.incrementAndGet();
+                                latencies[i] = -1;
+                                return Mono.empty();
+                            });
+                }, CONCURRENCY)
+                .blockLast(Duration.ofMinutes(5));
+        return new Fired(latencies, errors.get());
+    }
+
+    private record Setting(String name, int maxConnections, int pendingAcquireMaxCount,
+                           Duration pendingAcquireTimeout, boolean h2c) {
+    }
+
+    private record Fired(long[] latencies, int errors) {
+    }
+
+    // Percentiles are over successful requests; rejected ones fail fast and would flatter them
+    private record Result(double throughput, long[] latencies, int errors) {
+
+        Result {
+            latencies = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        }
+
+        double percentile(double p) {
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bytebites.gateway.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    static final String SECRET = "bytebites-secret-key-for-jwt-signing-and-verification";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve it from the cache afterwards")
+    void shouldCacheVerifiedTokens() {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1));
+        String token = token(SECRET, "alice", Instant.now().plus(Duration.ofHours(1)));
+
+        VerifiedIdentity first = cache.verify(token);
+        VerifiedIdentity second = cache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.subject()).isEqualTo("alice");
+        assertThat(first.roles()).containsExactly("ROLE_CUSTOMER");
+        assertThat(first.signature()).isEqualTo(new IdentityHeaderSigner(SECRET)
+                .sign("alice", "ROLE_CUSTOMER", first.expiresAt().getEpochSecond()));
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a long-lived token no longer than max-ttl")
+    void shouldCapEntriesAtMaxTtl() throws InterruptedException {
+        VerifiedTokenCache cache = cache(Duration.ofMillis(200));
+        String token = token(SECRET, "alice", Instant.now().plus(Duration.ofHours(1)));
+
+        cache.verify(token);
+        Thread.sleep(400);
+        cache.verify(token);
+
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stop accepting a cached token once the token itself expires")
+    void shouldExpireEntriesWithTheToken() throws InterruptedException {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1));
+        Instant expiresAt = Instant.now().plusSeconds(2);
+        String token = token(SECRET, "alice", expiresAt);
+
+        cache.verify(token);
+        Thread.sleep(Duration.between(Instant.now(), expiresAt).toMillis() + 1_100);
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void shouldNotCacheInvalidTokens() {
+        VerifiedTokenCache cache = cache(Duration.ofHours(1));
+        String forged = token("another-secret-key-that-is-long-enough-for-hs256", "mallory",
+                Instant.now().plus(Duration.ofHours(1)));
+
+        assertThatThrownBy(() -> cache.verify(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify("not-a-jwt")).isInstanceOf(JwtException.class);
+
+        assertThat(gets("miss")).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.size").tag("cache", VerifiedTokenCache.CACHE_NAME).gauge().value())
+                .isZero();
+    }
+
+    private VerifiedTokenCache cache(Duration maxTtl) {
+        return new VerifiedTokenCache(SECRET, 1_000, maxTtl, new IdentityHeaderSigner(SECRET), meterRegistry);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME).tag("result", result)
+                .functionCounter().count();
+    }
+
+    static String token(String secret, String subject, Instant expiresAt) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", List.of("ROLE_CUSTOMER"))
+                .expiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,108 @@
+package com.bytebites.gateway.controller;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.gateway.config.IdentityHeaderSigner;
+import com.bytebites.gateway.config.VerifiedTokenCache;
+import com.bytebites.gateway.dto.OrderStatusUpdate;
+import com.bytebites.gateway.service.OrderEventRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventsControllerTest {
+
+    private static final String SECRET = "bytebites-secret-key-for-jwt-signing-and-verification";
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventRegistry registry;
+    private OrderEventsController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new OrderEventRegistry(meterRegistry, 1, Duration.ofHours(1));
+        controller = new OrderEventsController(new VerifiedTokenCache(SECRET, 1_000, Duration.ofHours(1),
+                new IdentityHeaderSigner(SECRET), meterRegistry), registry);
+    }
+
+    @Test
+    @DisplayName("Should reject a stream without a valid token")
+    void shouldRejectMissingOrInvalidToken() {
+        assertThat(controller.streamOrderEvents(null, null, null).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(controller.streamOrderEvents("Bearer not-a-jwt", null, null).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @DisplayName("Should only open streams for customers")
+    void shouldRejectNonCustomers() {
+        String token = token("42", "ROLE_RESTAURANT_OWNER", Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(controller.streamOrderEvents("Bearer " + token, null, null).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After once max-connections streams are open")
+    void shouldRejectWhenFull() {
+        String token = token("42", "ROLE_CUSTOMER", Instant.now().plus(Duration.ofHours(1)));
+        Flux<ServerSentEvent<OrderStatusUpdate>> open = controller.streamOrderEvents("Bearer " + token, null, null)
+                .getBody();
+        Disposable subscription = open.subscribe();
+
+        ResponseEntity<?> rejected = controller.streamOrderEvents(null, token, null);
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        subscription.dispose();
+        assertThat(controller.streamOrderEvents(null, token, null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should deliver the requested order and end the stream when the token expires")
+    void shouldEndStreamAtTokenExpiry() {
+        Instant expiresAt = Instant.now().plusSeconds(2);
+        String token = token("42", "ROLE_CUSTOMER", expiresAt);
+        ResponseEntity<Flux<ServerSentEvent<OrderStatusUpdate>>> response =
+                controller.streamOrderEvents(null, token, 5L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Mono.delay(Duration.ofMillis(200)).subscribe(tick -> {
+            registry.publish(new OrderStatusChangedEvent(4L, 42L, 3L, "PENDING", "CONFIRMED", LocalDateTime.now()));
+            registry.publish(new OrderStatusChangedEvent(5L, 42L, 3L, "PENDING", "CONFIRMED", LocalDateTime.now()));
+        });
+        List<ServerSentEvent<OrderStatusUpdate>> events = response.getBody().collectList().block(Duration.ofSeconds(5));
+
+        assertThat(Instant.now()).isAfterOrEqualTo(expiresAt.minusMillis(1_000));
+        assertThat(events).extracting(event -> event.data().orderId()).containsExactly(5L);
+        assertThat(meterRegistry.get("gateway.order-events.connections").gauge().value()).isZero();
+    }
+
+    private static String token(String subject, String role, Instant expiresAt) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", List.of(role))
+                .expiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
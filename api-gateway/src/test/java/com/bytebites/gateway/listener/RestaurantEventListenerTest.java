@@ -0,0 +1,70 @@
+package com.bytebites.gateway.listener;
+
+import com.bytebites.contracts.event.RestaurantUpdatedEvent;
+import com.bytebites.gateway.service.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantEventListenerTest {
+
+    private static final HttpHeaders REQUEST = new HttpHeaders();
+
+    private ResponseCache cache;
+    private RestaurantEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(new SimpleMeterRegistry(), List.of("/api/restaurants", "/api/restaurants/*"),
+                Duration.ofMinutes(5), DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        listener = new RestaurantEventListener(cache);
+    }
+
+    @Test
+    @DisplayName("Should evict the updated restaurant and the listing, and keep other restaurants")
+    void shouldEvictUpdatedRestaurant() {
+        ResponseCache.Key listing = key("/api/restaurants", "page=0");
+        ResponseCache.Key updated = key("/api/restaurants/3", null);
+        ResponseCache.Key other = key("/api/restaurants/4", null);
+        ResponseCache.Key prefixed = key("/api/restaurants/30", null);
+        for (ResponseCache.Key key : List.of(listing, updated, other, prefixed)) {
+            cache.put(key, entry(key.path()), cache.generation());
+        }
+
+        listener.handleRestaurantUpdated(new RestaurantUpdatedEvent(3L));
+
+        assertThat(cache.get(listing, REQUEST)).isNull();
+        assertThat(cache.get(updated, REQUEST)).isNull();
+        assertThat(cache.get(other, REQUEST)).isNotNull();
+        assertThat(cache.get(prefixed, REQUEST)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a response fetched before an update arrived")
+    void shouldDropResponsesFetchedBeforeUpdate() {
+        ResponseCache.Key key = key("/api/restaurants/3", null);
+        long fetchedAt = cache.generation();
+
+        listener.handleRestaurantUpdated(new RestaurantUpdatedEvent(3L));
+        cache.put(key, entry("stale"), fetchedAt);
+
+        assertThat(cache.get(key, REQUEST)).isNull();
+    }
+
+    private static ResponseCache.Key key(String path, String query) {
+        return ResponseCache.Key.of(path, query, REQUEST);
+    }
+
+    private static ResponseCache.Entry entry(String body) {
+        return ResponseCache.Entry.of(new HttpHeaders(), body.getBytes(StandardCharsets.UTF_8), "\"etag\"", REQUEST);
+    }
+}
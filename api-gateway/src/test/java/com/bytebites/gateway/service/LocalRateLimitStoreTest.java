@@ -0,0 +1,110 @@
+package com.bytebites.gateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalRateLimitStoreTest {
+
+    private LocalRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalRateLimitStore(1_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should derive the emission interval and refill time from the limit")
+    void shouldDeriveIntervals() {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(50, 100);
+
+        assertThat(limit.emissionIntervalNanos()).isEqualTo(20_000_000L);
+        assertThat(limit.refillTime()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(new RateLimitStore.Limit(0.5, 1).refillTime()).isEqualTo(Duration.ofSeconds(2));
+        assertThatThrownBy(() -> new RateLimitStore.Limit(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimitStore.Limit(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should allow a full burst and then reject with the time until the next token")
+    void shouldAllowBurstThenReject() {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(1, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(acquire("a", limit).allowed()).isTrue();
+        }
+        RateLimitStore.Decision rejected = acquire("a", limit);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfter()).isBetween(Duration.ofMillis(900), Duration.ofSeconds(1));
+        // A rejection takes no token, so the wait does not grow
+        assertThat(acquire("a", limit).retryAfter()).isLessThanOrEqualTo(rejected.retryAfter());
+    }
+
+    @Test
+    @DisplayName("Should give back one token per emission interval")
+    void shouldRefillAtReplenishRate() throws InterruptedException {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(10, 1);
+        assertThat(acquire("a", limit).allowed()).isTrue();
+        RateLimitStore.Decision rejected = acquire("a", limit);
+        assertThat(rejected.allowed()).isFalse();
+
+        Thread.sleep(rejected.retryAfter().toMillis() + 20);
+
+        assertThat(acquire("a", limit).allowed()).isTrue();
+        assertThat(acquire("a", limit).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void shouldSeparateKeys() {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(1, 1);
+
+        assertThat(acquire("a", limit).allowed()).isTrue();
+        assertThat(acquire("a", limit).allowed()).isFalse();
+        assertThat(acquire("b", limit).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the burst capacity to concurrent callers")
+    void shouldNotOverAllowUnderContention() throws InterruptedException {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(0.01, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (acquire("a", limit).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(50);
+    }
+
+    private RateLimitStore.Decision acquire(String key, RateLimitStore.Limit limit) {
+        return store.tryAcquire(key, limit).block();
+    }
+}
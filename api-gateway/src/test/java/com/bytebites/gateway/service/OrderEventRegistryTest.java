@@ -0,0 +1,119 @@
+package com.bytebites.gateway.service;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.gateway.dto.OrderStatusUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventRegistryTest {
+
+    private static final Long CUSTOMER_ID = 42L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new OrderEventRegistry(meterRegistry, 2, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should share one channel between a customer's streams and drop it with the last one")
+    void shouldReferenceCountCustomerChannels() {
+        List<OrderStatusUpdate> first = new CopyOnWriteArrayList<>();
+        List<OrderStatusUpdate> second = new CopyOnWriteArrayList<>();
+        Disposable firstStream = subscribe(registry.stream(CUSTOMER_ID, null), first);
+        Disposable secondStream = subscribe(registry.stream(CUSTOMER_ID, null), second);
+        assertThat(gauge("gateway.order-events.customers")).isEqualTo(1);
+        assertThat(gauge("gateway.order-events.connections")).isEqualTo(2);
+
+        firstStream.dispose();
+        registry.publish(event(1L, "CONFIRMED"));
+
+        assertThat(gauge("gateway.order-events.customers")).isEqualTo(1);
+        assertThat(first).isEmpty();
+        assertThat(second).extracting(OrderStatusUpdate::status).containsExactly("CONFIRMED");
+
+        secondStream.dispose();
+        registry.publish(event(1L, "PREPARING"));
+
+        assertThat(gauge("gateway.order-events.customers")).isZero();
+        assertThat(gauge("gateway.order-events.connections")).isZero();
+        assertThat(second).hasSize(1);
+        assertThat(meterRegistry.get("gateway.order-events.published").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only deliver the requested order to a filtered stream")
+    void shouldFilterByOrderId() {
+        List<OrderStatusUpdate> filtered = new CopyOnWriteArrayList<>();
+        List<OrderStatusUpdate> all = new CopyOnWriteArrayList<>();
+        Disposable filteredStream = subscribe(registry.stream(CUSTOMER_ID, 2L), filtered);
+        Disposable allStream = subscribe(registry.stream(CUSTOMER_ID, null), all);
+
+        registry.publish(event(1L, "CONFIRMED"));
+        registry.publish(event(2L, "CONFIRMED"));
+        registry.publish(new OrderStatusChangedEvent(2L, 99L, 3L, "PENDING", "CONFIRMED", LocalDateTime.now()));
+
+        assertThat(filtered).extracting(OrderStatusUpdate::orderId).containsExactly(2L);
+        assertThat(all).extracting(OrderStatusUpdate::orderId).containsExactly(1L, 2L);
+        filteredStream.dispose();
+        allStream.dispose();
+    }
+
+    @Test
+    @DisplayName("Should report full at max-connections and free a slot when a stream ends")
+    void shouldTrackMaxConnections() {
+        Disposable first = subscribe(registry.stream(CUSTOMER_ID, null), new CopyOnWriteArrayList<>());
+        assertThat(registry.isFull()).isFalse();
+        Disposable second = subscribe(registry.stream(7L, null), new CopyOnWriteArrayList<>());
+        assertThat(registry.isFull()).isTrue();
+
+        second.dispose();
+
+        assertThat(registry.isFull()).isFalse();
+        first.dispose();
+    }
+
+    @Test
+    @DisplayName("Should release the connection when the stream is cut off")
+    void shouldReleaseOnCompletion() {
+        List<ServerSentEvent<OrderStatusUpdate>> events = registry.stream(CUSTOMER_ID, null)
+                .take(Duration.ofMillis(100))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(events).isEmpty();
+        assertThat(gauge("gateway.order-events.connections")).isZero();
+        assertThat(gauge("gateway.order-events.customers")).isZero();
+    }
+
+    private static Disposable subscribe(Flux<ServerSentEvent<OrderStatusUpdate>> stream,
+                                        List<OrderStatusUpdate> received) {
+        return stream.subscribe(event -> {
+            assertThat(event.event()).isEqualTo(OrderEventRegistry.EVENT_NAME);
+            received.add(event.data());
+        });
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static OrderStatusChangedEvent event(Long orderId, String status) {
+        return new OrderStatusChangedEvent(orderId, CUSTOMER_ID, 3L, "PENDING", status, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,57 @@
+package com.bytebites.contracts.amqp;
+
+import com.bytebites.contracts.codec.OrderPlacedEventCodec;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Picks the encoding of contract events by content type. Incoming messages in a
+ * contract's binary encoding are decoded by its codec and everything else goes to
+ * the fallback (JSON) converter, so consumers read both during a rollout. Outgoing
+ * contract events are only written in binary when {@code binaryEncoding} is on.
+ */
+public class EventContractMessageConverter implements MessageConverter {
+
+    public static final String TYPE_ID_HEADER = "__TypeId__";
+    public static final String ORDER_PLACED_TYPE_ID = "order.placed";
+    // ISO-8601 local date-time at which the producer wrote the event; contracts carry no time of their own
+    public static final String OCCURRED_AT_HEADER = "x-occurred-at";
+
+    private final MessageConverter fallback;
+    private final boolean binaryEncoding;
+    private final OrderPlacedEventCodec orderPlacedCodec = new OrderPlacedEventCodec();
+
+    public EventContractMessageConverter(MessageConverter fallback, boolean binaryEncoding) {
+        this.fallback = fallback;
+        this.binaryEncoding = binaryEncoding;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (binaryEncoding && object instanceof OrderPlacedEvent event) {
+            byte[] body = orderPlacedCodec.encode(event);
+            messageProperties.setContentType(orderPlacedCodec.contentType());
+            messageProperties.setContentLength(body.length);
+            // Kept for tooling and for consumers that still route on the type id
+            messageProperties.setHeader(TYPE_ID_HEADER, ORDER_PLACED_TYPE_ID);
+            return new Message(body, messageProperties);
+        }
+        return fallback.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        int version = OrderPlacedEventCodec.version(message.getMessageProperties().getContentType());
+        if (version < 0) {
+            return fallback.fromMessage(message);
+        }
+        try {
+            return orderPlacedCodec.decode(message.getBody(), version);
+        } catch (RuntimeException e) {
+            throw new MessageConversionException("Cannot decode order.placed v" + version, e);
+        }
+    }
+}
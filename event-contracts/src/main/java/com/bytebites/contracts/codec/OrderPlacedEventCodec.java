@@ -0,0 +1,162 @@
+package com.bytebites.contracts.codec;
+
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avro binary encoding of {@link OrderPlacedEvent}. The schema version travels in
+ * the content type, e.g. {@code application/vnd.bytebites.order-placed.v1+avro};
+ * bodies written with any version on the classpath are resolved into the current
+ * one, so producers can move to a newer schema after their consumers. Thread-safe.
+ */
+public final class OrderPlacedEventCodec {
+
+    public static final int CURRENT_VERSION = 1;
+
+    private static final String CONTENT_TYPE_PREFIX = "application/vnd.bytebites.order-placed.v";
+    private static final String CONTENT_TYPE_SUFFIX = "+avro";
+    private static final Conversions.DecimalConversion DECIMALS = new Conversions.DecimalConversion();
+
+    private final Schema schema;
+    private final Schema itemSchema;
+    private final GenericDatumWriter<GenericRecord> writer;
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new HashMap<>();
+
+    public OrderPlacedEventCodec() {
+        this.schema = loadSchema(CURRENT_VERSION);
+        this.itemSchema = schema.getField("items").schema().getElementType();
+        this.writer = new GenericDatumWriter<>(schema);
+        for (int version = 1; version <= CURRENT_VERSION; version++) {
+            readers.put(version, new GenericDatumReader<>(loadSchema(version), schema));
+        }
+    }
+
+    public static String contentType(int version) {
+        return CONTENT_TYPE_PREFIX + version + CONTENT_TYPE_SUFFIX;
+    }
+
+    /**
+     * Returns the schema version named by a content type of this codec, or -1 if
+     * the content type belongs to another encoding.
+     */
+    public static int version(String contentType) {
+        if (contentType == null || !contentType.startsWith(CONTENT_TYPE_PREFIX)
+                || !contentType.endsWith(CONTENT_TYPE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(contentType.substring(
+                    CONTENT_TYPE_PREFIX.length(), contentType.length() - CONTENT_TYPE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public String contentType() {
+        return contentType(CURRENT_VERSION);
+    }
+
+    public byte[] encode(OrderPlacedEvent event) {
+        List<GenericRecord> items = new ArrayList<>(event.items().size());
+        for (OrderPlacedEvent.OrderItemData item : event.items()) {
+            GenericRecord record = new GenericData.Record(itemSchema);
+            record.put("name", item.name());
+            record.put("quantity", item.quantity());
+            record.put("price", toBytes(item.price(), itemSchema.getField("price").schema()));
+            items.add(record);
+        }
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("orderId", event.orderId());
+        record.put("customerId", event.customerId());
+        record.put("restaurantId", event.restaurantId());
+        record.put("items", items);
+        record.put("totalAmount", toBytes(event.totalAmount(), schema.getField("totalAmount").schema()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + 32 * items.size());
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a body written with schema {@code version}.
+     *
+     * @throws IllegalArgumentException if the version is unknown to this build
+     */
+    public OrderPlacedEvent decode(byte[] body, int version) {
+        GenericDatumReader<GenericRecord> reader = readers.get(version);
+        if (reader == null) {
+            throw new IllegalArgumentException("Unsupported order-placed schema version " + version);
+        }
+        GenericRecord record;
+        try {
+            record = reader.read(null, DecoderFactory.get().binaryDecoder(body, null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<GenericRecord> itemRecords = (List<GenericRecord>) record.get("items");
+        List<OrderPlacedEvent.OrderItemData> items = new ArrayList<>(itemRecords.size());
+        for (GenericRecord item : itemRecords) {
+            items.add(new OrderPlacedEvent.OrderItemData(
+                    item.get("name").toString(),
+                    (Integer) item.get("quantity"),
+                    fromBytes((ByteBuffer) item.get("price"), itemSchema.getField("price").schema())));
+        }
+        return new OrderPlacedEvent(
+                (Long) record.get("orderId"),
+                (Long) record.get("customerId"),
+                (Long) record.get("restaurantId"),
+                items,
+                fromBytes((ByteBuffer) record.get("totalAmount"), schema.getField("totalAmount").schema()));
+    }
+
+    private static ByteBuffer toBytes(BigDecimal value, Schema fieldSchema) {
+        LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) fieldSchema.getLogicalType();
+        // Amounts are stored with two decimals, so rescaling never rounds
+        return DECIMALS.toBytes(value.setScale(decimal.getScale(), RoundingMode.UNNECESSARY), fieldSchema, decimal);
+    }
+
+    private static BigDecimal fromBytes(ByteBuffer bytes, Schema fieldSchema) {
+        return DECIMALS.fromBytes(bytes, fieldSchema, fieldSchema.getLogicalType());
+    }
+
+    private static Schema loadSchema(int version) {
+        String resource = "/avro/order-placed-v" + version + ".avsc";
+        try (InputStream in = OrderPlacedEventCodec.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing schema " + resource);
+            }
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.bytebites.contracts.deadletter;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dead-letter topology for the durable work queues. A failed message waits in
+ * {@code <queue>.retry.<n>} for an exponentially growing delay, expires back
+ * into its queue, and lands in {@code <queue>.parking-lot} once its retries are
+ * used up. Whatever the queue itself rejects goes to {@code <queue>.dlq}.
+ * <p>
+ * Services import this configuration and declare a {@link ManagedQueues} bean
+ * naming their work queues.
+ */
+@Configuration
+public class DeadLetterConfig {
+
+    public static final String DLX_NAME = "bytebites-dlx";
+
+    private final int maxRetries;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration confirmTimeout;
+
+    public DeadLetterConfig(@Value("${messaging.dead-letters.max-retries:3}") int maxRetries,
+                            @Value("${messaging.dead-letters.initial-delay:1s}") Duration initialDelay,
+                            @Value("${messaging.dead-letters.multiplier:5}") double multiplier,
+                            @Value("${messaging.dead-letters.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.maxRetries = maxRetries;
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+
+    public static String retryQueue(String queue, int attempt) {
+        return queue + ".retry." + attempt;
+    }
+
+    public static String parkingLot(String queue) {
+        return queue + ".parking-lot";
+    }
+
+    /**
+     * Starts a work queue that dead-letters into this topology and refuses new
+     * messages once {@code maxLength} are waiting, so publishers see a nack
+     * instead of the broker running out of memory.
+     */
+    public static QueueBuilder workQueue(String queue, long maxLength) {
+        return QueueBuilder.durable(queue)
+                .deadLetterExchange(DLX_NAME)
+                .deadLetterRoutingKey(deadLetterQueue(queue))
+                .maxLength(maxLength)
+                .overflow(QueueBuilder.Overflow.rejectPublish);
+    }
+
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DLX_NAME, true, false);
+    }
+
+    @Bean
+    public Declarables deadLetterQueues(DirectExchange deadLetterExchange, ManagedQueues managedQueues) {
+        List<Declarable> declarables = new ArrayList<>();
+        managedQueues.names().forEach(queue -> declarables.addAll(topology(queue, deadLetterExchange)));
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public DeadLetterRecoverer messageRecoverer(RabbitTemplate rabbitTemplate, ManagedQueues managedQueues) {
+        return new DeadLetterRecoverer(rabbitTemplate, managedQueues.names(), maxRetries, confirmTimeout);
+    }
+
+    @Bean
+    public DeadLetterService deadLetterService(RabbitTemplate rabbitTemplate,
+                                               AmqpAdmin amqpAdmin,
+                                               DeadLetterRecoverer messageRecoverer,
+                                               @Value("${messaging.dead-letters.replay-rate:50}") double replayRate) {
+        return new DeadLetterService(rabbitTemplate, amqpAdmin, messageRecoverer, maxRetries, replayRate, confirmTimeout);
+    }
+
+    private List<Declarable> topology(String queue, DirectExchange exchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        bind(declarables, QueueBuilder.durable(deadLetterQueue(queue)).build(), exchange);
+        bind(declarables, QueueBuilder.durable(parkingLot(queue)).build(), exchange);
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            // A per-queue TTL keeps every message in a delay queue on the same delay, so
+            // none waits behind a longer one; expired messages go back to the work queue
+            bind(declarables, QueueBuilder.durable(retryQueue(queue, attempt))
+                    .ttl((int) delay(attempt).toMillis())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(queue)
+                    .build(), exchange);
+        }
+        return declarables;
+    }
+
+    private Duration delay(int attempt) {
+        return Duration.ofMillis((long) (initialDelay.toMillis() * Math.pow(multiplier, attempt - 1)));
+    }
+
+    private static void bind(List<Declarable> declarables, Queue queue, DirectExchange exchange) {
+        declarables.add(queue);
+        declarables.add(BindingBuilder.bind(queue).to(exchange).with(queue.getName()));
+    }
+}
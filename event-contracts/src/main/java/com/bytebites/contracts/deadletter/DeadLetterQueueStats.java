@@ -0,0 +1,7 @@
+package com.bytebites.contracts.deadletter;
+
+/**
+ * Message counts of one work queue and its dead-letter queues.
+ */
+public record DeadLetterQueueStats(String queue, long ready, long retrying, long deadLettered, long parked) {
+}
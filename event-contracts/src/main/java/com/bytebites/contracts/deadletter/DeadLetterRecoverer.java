@@ -0,0 +1,132 @@
+package com.bytebites.contracts.deadletter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Called by the listener container once a message has failed. Routes it to the
+ * next delay queue of its work queue, or to the parking lot when its retries are
+ * used up. Messages from queues without a retry topology are rejected.
+ * <p>
+ * Copies are published with publisher confirms, and the container only acks the
+ * original once {@code recover} returns, so a copy the broker did not take is
+ * never acked away.
+ */
+public class DeadLetterRecoverer implements MessageBatchRecoverer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetterRecoverer.class);
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_HEADER = "x-exception-message";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    public static final String PARKED_AT_HEADER = "x-parked-at";
+
+    private static final MessagePropertiesConverter PROPERTIES_CONVERTER = new DefaultMessagePropertiesConverter();
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Set<String> managedQueues;
+    private final int maxRetries;
+    private final Duration confirmTimeout;
+
+    public DeadLetterRecoverer(RabbitTemplate rabbitTemplate, Set<String> managedQueues, int maxRetries,
+                               Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.managedQueues = managedQueues;
+        this.maxRetries = maxRetries;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public Set<String> getManagedQueues() {
+        return managedQueues;
+    }
+
+    /**
+     * A failed batch is retried message by message, each on its own retry count.
+     * Messages the listener already parked are skipped.
+     */
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        messages.stream()
+                .filter(message -> message.getMessageProperties().getHeader(PARKED_AT_HEADER) == null)
+                .forEach(message -> recover(message, cause));
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        if (!managedQueues.contains(queue)) {
+            throw new AmqpRejectAndDontRequeueException("No retry topology for queue " + queue, cause);
+        }
+
+        int retries = retryCount(message);
+        if (retries >= maxRetries) {
+            park(message, cause);
+            return;
+        }
+        properties.setHeader(RETRY_COUNT_HEADER, retries + 1);
+        properties.setHeader(EXCEPTION_HEADER, describe(cause));
+        LOGGER.warn("Message {} from {} failed, retry {} of {}: {}",
+                properties.getMessageId(), queue, retries + 1, maxRetries, describe(cause));
+        republish(DeadLetterConfig.retryQueue(queue, retries + 1), message);
+    }
+
+    /**
+     * Moves a message straight to its queue's parking lot, for failures that no
+     * retry can fix, such as a body that cannot be read.
+     */
+    public void park(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        properties.setHeader(EXCEPTION_HEADER, describe(cause));
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, queue);
+        properties.setHeader(PARKED_AT_HEADER, Instant.now().toString());
+        LOGGER.error("Parking message {} from {} after {} retries: {}",
+                properties.getMessageId(), queue, retryCount(message), describe(cause));
+        republish(DeadLetterConfig.parkingLot(queue), message);
+    }
+
+    private void republish(String routingKey, Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getDeliveryMode() == null) {
+            properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        }
+        // A nack or a missing confirm closes the channel and propagates, so the container
+        // rejects the message into the queue's DLQ instead of acking it
+        rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+            channel.basicPublish(DeadLetterConfig.DLX_NAME, routingKey, false,
+                    PROPERTIES_CONVERTER.fromMessageProperties(properties, StandardCharsets.UTF_8.name()),
+                    message.getBody());
+            channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    private static int retryCount(Message message) {
+        Object count = message.getMessageProperties().getHeader(RETRY_COUNT_HEADER);
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
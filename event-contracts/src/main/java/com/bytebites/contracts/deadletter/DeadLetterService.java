@@ -0,0 +1,200 @@
+package com.bytebites.contracts.deadletter;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Inspects the dead-letter queues and replays their messages into the work
+ * queue at a bounded rate, so a fixed consumer is not flooded with a backlog
+ * of parked messages all at once.
+ */
+public class DeadLetterService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetterService.class);
+
+    public static final String PARKING_LOT = "parking-lot";
+    public static final String DLQ = "dlq";
+
+    // Replayed messages start over with a full set of retries
+    private static final List<String> STRIPPED_HEADERS = List.of(
+            DeadLetterRecoverer.RETRY_COUNT_HEADER, DeadLetterRecoverer.EXCEPTION_HEADER,
+            DeadLetterRecoverer.ORIGINAL_QUEUE_HEADER, DeadLetterRecoverer.PARKED_AT_HEADER,
+            "x-death", "x-first-death-exchange", "x-first-death-queue", "x-first-death-reason");
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final DeadLetterRecoverer recoverer;
+    private final int maxRetries;
+    private final double defaultRate;
+    private final Duration confirmTimeout;
+    private final Map<String, ReplayJob> replays = new ConcurrentHashMap<>();
+    private final ExecutorService replayExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "dead-letter-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadLetterService(RabbitTemplate rabbitTemplate,
+                             AmqpAdmin amqpAdmin,
+                             DeadLetterRecoverer recoverer,
+                             int maxRetries,
+                             double defaultRate,
+                             Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.recoverer = recoverer;
+        this.maxRetries = maxRetries;
+        this.defaultRate = defaultRate;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public List<DeadLetterQueueStats> getStats() {
+        return recoverer.getManagedQueues().stream()
+                .sorted()
+                .map(queue -> new DeadLetterQueueStats(queue,
+                        messageCount(queue),
+                        IntStream.rangeClosed(1, maxRetries)
+                                .mapToLong(attempt -> messageCount(DeadLetterConfig.retryQueue(queue, attempt)))
+                                .sum(),
+                        messageCount(DeadLetterConfig.deadLetterQueue(queue)),
+                        messageCount(DeadLetterConfig.parkingLot(queue))))
+                .toList();
+    }
+
+    /**
+     * Starts moving up to {@code limit} messages from the parking lot or DLQ of a
+     * work queue back into it. Only one replay per queue runs at a time.
+     *
+     * @return the new replay, or the one already running for this queue
+     * @throws IllegalArgumentException if the queue or source is unknown
+     */
+    public ReplayStatus startReplay(String queue, String source, int limit, Double ratePerSecond) {
+        if (!recoverer.getManagedQueues().contains(queue)) {
+            throw new IllegalArgumentException("Unknown queue: " + queue);
+        }
+        String sourceQueue = switch (source) {
+            case PARKING_LOT -> DeadLetterConfig.parkingLot(queue);
+            case DLQ -> DeadLetterConfig.deadLetterQueue(queue);
+            default -> throw new IllegalArgumentException("Unknown source: " + source);
+        };
+        double rate = ratePerSecond == null || ratePerSecond <= 0 ? defaultRate : ratePerSecond;
+
+        ReplayJob job = new ReplayJob(queue, source, sourceQueue, limit, rate);
+        ReplayJob current = replays.compute(queue, (key, existing) ->
+                existing != null && existing.running ? existing : job);
+        if (current == job) {
+            replayExecutor.execute(job);
+        }
+        return current.status();
+    }
+
+    public Optional<ReplayStatus> getReplay(String queue) {
+        return Optional.ofNullable(replays.get(queue)).map(ReplayJob::status);
+    }
+
+    @PreDestroy
+    public void stop() {
+        replayExecutor.shutdownNow();
+    }
+
+    private long messageCount(String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info == null ? 0 : info.getMessageCount();
+    }
+
+    // Get, publish and ack on one channel. The work queue refuses publishes once it is
+    // full, so the source is only acked after the broker confirmed the copy; a nack or
+    // a missing confirm closes the channel and the unacked message stays where it was
+    private boolean replayOne(String sourceQueue, String targetQueue) {
+        Boolean moved = rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+            GetResponse response = channel.basicGet(sourceQueue, false);
+            if (response == null) {
+                return false;
+            }
+            AMQP.BasicProperties properties = response.getProps();
+            Map<String, Object> headers = properties.getHeaders() == null
+                    ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+            STRIPPED_HEADERS.forEach(headers::remove);
+            channel.basicPublish("", targetQueue, properties.builder().headers(headers).build(), response.getBody());
+            channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+            return true;
+        });
+        return Boolean.TRUE.equals(moved);
+    }
+
+    private final class ReplayJob implements Runnable {
+
+        private final String queue;
+        private final String source;
+        private final String sourceQueue;
+        private final int limit;
+        private final double rate;
+        private final Instant startedAt = Instant.now();
+
+        private volatile boolean running = true;
+        private volatile int replayed;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private ReplayJob(String queue, String source, String sourceQueue, int limit, double rate) {
+            this.queue = queue;
+            this.source = source;
+            this.sourceQueue = sourceQueue;
+            this.limit = limit;
+            this.rate = rate;
+        }
+
+        @Override
+        public void run() {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            long next = System.nanoTime();
+            try {
+                while (replayed < limit) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    if (!replayOne(sourceQueue, queue)) {
+                        break;
+                    }
+                    replayed++;
+                    next += interval;
+                }
+                LOGGER.info("Replayed {} message(s) from {} into {}", replayed, sourceQueue, queue);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "interrupted";
+            } catch (RuntimeException e) {
+                error = e.getMessage();
+                LOGGER.error("Replay from {} stopped after {} message(s): {}", sourceQueue, replayed, e.getMessage());
+            } finally {
+                finishedAt = Instant.now();
+                running = false;
+            }
+        }
+
+        private ReplayStatus status() {
+            return new ReplayStatus(queue, source, limit, rate, replayed, running, startedAt, finishedAt, error);
+        }
+    }
+}
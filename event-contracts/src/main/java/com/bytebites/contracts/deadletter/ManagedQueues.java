@@ -0,0 +1,14 @@
+package com.bytebites.contracts.deadletter;
+
+import java.util.Set;
+
+/**
+ * The work queues of a service that get a retry topology, are recovered by the
+ * {@link DeadLetterRecoverer} and can be replayed through the {@link DeadLetterService}.
+ */
+public record ManagedQueues(Set<String> names) {
+
+    public static ManagedQueues of(String... names) {
+        return new ManagedQueues(Set.of(names));
+    }
+}
@@ -0,0 +1,10 @@
+package com.bytebites.contracts.deadletter;
+
+import java.time.Instant;
+
+/**
+ * Progress of a bulk replay from a parking lot or DLQ back into its work queue.
+ */
+public record ReplayStatus(String queue, String source, int limit, double ratePerSecond,
+                           int replayed, boolean running, Instant startedAt, Instant finishedAt, String error) {
+}
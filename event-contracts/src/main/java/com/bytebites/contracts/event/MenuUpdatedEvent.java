@@ -0,0 +1,11 @@
+package com.bytebites.contracts.event;
+
+import java.io.Serializable;
+
+/**
+ * Published by restaurant-service after a restaurant's menu changes, so every
+ * cache holding its items (in restaurant-service and order-service) can drop
+ * them. Shared by the producer and all consumers.
+ */
+public record MenuUpdatedEvent(Long restaurantId) implements Serializable {
+}
@@ -1,12 +1,12 @@
-package com.bytebites.notification.event;
+package com.bytebites.contracts.event;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.List;
 
 /**
- * Represents the event published when a new order is successfully placed.
- * This record is immutable and serializable for messaging.
+ * Published by order-service when a new order is placed. Shared by the producer
+ * and all consumers; its binary form is described by {@code avro/order-placed-v*.avsc}.
  */
 public record OrderPlacedEvent(
         Long orderId,
@@ -0,0 +1,19 @@
+package com.bytebites.contracts.event;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Published by order-service when an order moves to another status. Shared by the
+ * producer and all consumers. {@code changedAt} is the order's {@code updatedAt}
+ * after the change, so consumers can discard events older than what they already hold.
+ */
+public record OrderStatusChangedEvent(
+        Long orderId,
+        Long customerId,
+        Long restaurantId,
+        String previousStatus,
+        String status,
+        LocalDateTime changedAt
+) implements Serializable {
+}
@@ -0,0 +1,11 @@
+package com.bytebites.contracts.event;
+
+import java.io.Serializable;
+
+/**
+ * Published by restaurant-service after a restaurant is created or its details
+ * change, so caches of restaurant reads, such as the gateway's response cache,
+ * can drop them. Shared by the producer and all consumers.
+ */
+public record RestaurantUpdatedEvent(Long restaurantId) implements Serializable {
+}
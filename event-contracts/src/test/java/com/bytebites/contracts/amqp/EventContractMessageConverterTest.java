@@ -0,0 +1,68 @@
+package com.bytebites.contracts.amqp;
+
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventContractMessageConverterTest {
+
+    private static final OrderPlacedEvent EVENT = new OrderPlacedEvent(10L, 1L, 3L, List.of(
+            new OrderPlacedEvent.OrderItemData("Pizza", 2, new BigDecimal("12.50")),
+            new OrderPlacedEvent.OrderItemData("Soda", 1, new BigDecimal("2.00"))),
+            new BigDecimal("27.00"));
+
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+
+    @Test
+    @DisplayName("Should round-trip an order.placed event through the binary encoding")
+    void shouldRoundTripBinary() {
+        EventContractMessageConverter converter = new EventContractMessageConverter(json, true);
+
+        Message message = converter.toMessage(EVENT, new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType())
+                .isEqualTo("application/vnd.bytebites.order-placed.v1+avro");
+        assertThat(converter.fromMessage(message)).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Should be much smaller than the JSON encoding")
+    void shouldBeSmallerThanJson() {
+        Message binary = new EventContractMessageConverter(json, true).toMessage(EVENT, new MessageProperties());
+        Message text = json.toMessage(EVENT, new MessageProperties());
+
+        assertThat(binary.getBody().length).isLessThan(text.getBody().length / 2);
+    }
+
+    @Test
+    @DisplayName("Should keep reading JSON while producers are rolled over")
+    void shouldReadJson() {
+        EventContractMessageConverter converter = new EventContractMessageConverter(json, false);
+
+        Message message = converter.toMessage(EVENT, new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(converter.fromMessage(message)).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Should reject a schema version this build does not know")
+    void shouldRejectUnknownVersion() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType("application/vnd.bytebites.order-placed.v99+avro");
+
+        assertThatThrownBy(() -> new EventContractMessageConverter(json, true)
+                .fromMessage(new Message(new byte[0], properties)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+}
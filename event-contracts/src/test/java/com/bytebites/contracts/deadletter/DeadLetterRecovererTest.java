@@ -0,0 +1,128 @@
+package com.bytebites.contracts.deadletter;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeadLetterRecovererTest {
+
+    private static final String QUEUE = "work-queue";
+
+    private RabbitTemplate rabbitTemplate;
+    private Channel channel;
+    private DeadLetterRecoverer recoverer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        channel = mock(Channel.class);
+        when(rabbitTemplate.execute(any(ChannelCallback.class))).thenAnswer(call -> {
+            try {
+                return call.<ChannelCallback<?>>getArgument(0).doInRabbit(channel);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+        recoverer = new DeadLetterRecoverer(rabbitTemplate, Set.of(QUEUE), 3, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should send a failed message to the next delay queue and wait for the confirm")
+    void shouldRouteToNextDelayQueue() throws Exception {
+        Message message = message(QUEUE, 1);
+
+        recoverer.recover(message, new IllegalStateException("boom"));
+
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).confirmSelect();
+        inOrder.verify(channel).basicPublish(eq(DeadLetterConfig.DLX_NAME), eq(QUEUE + ".retry.2"), eq(false),
+                any(AMQP.BasicProperties.class), eq(message.getBody()));
+        inOrder.verify(channel).waitForConfirmsOrDie(5_000);
+        assertThat((Integer) message.getMessageProperties().getHeader(DeadLetterRecoverer.RETRY_COUNT_HEADER))
+                .isEqualTo(2);
+        assertThat((String) message.getMessageProperties().getHeader(DeadLetterRecoverer.EXCEPTION_HEADER))
+                .isEqualTo("IllegalStateException: boom");
+    }
+
+    @Test
+    @DisplayName("Should park a message once its retries are used up")
+    void shouldParkAfterMaxRetries() throws Exception {
+        Message message = message(QUEUE, 3);
+
+        recoverer.recover(message, new IllegalStateException("boom"));
+
+        verify(channel).basicPublish(eq(DeadLetterConfig.DLX_NAME), eq(QUEUE + ".parking-lot"), eq(false),
+                any(AMQP.BasicProperties.class), eq(message.getBody()));
+        verify(channel).waitForConfirmsOrDie(anyLong());
+        assertThat((String) message.getMessageProperties().getHeader(DeadLetterRecoverer.ORIGINAL_QUEUE_HEADER))
+                .isEqualTo(QUEUE);
+    }
+
+    @Test
+    @DisplayName("Should fail the recovery when the broker does not confirm the copy")
+    void shouldFailWhenCopyIsNotConfirmed() throws Exception {
+        doThrow(new IOException("nack")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> recoverer.recover(message(QUEUE, 0), new IllegalStateException("boom")))
+                .isInstanceOf(AmqpIOException.class);
+    }
+
+    @Test
+    @DisplayName("Should skip messages of a failed batch that were already parked")
+    void shouldSkipParkedMessagesInBatch() throws Exception {
+        Message unreadable = message(QUEUE, 0);
+        Message valid = message(QUEUE, 0);
+        recoverer.park(unreadable, new IllegalArgumentException("bad json"));
+
+        recoverer.recover(List.of(unreadable, valid), new IllegalStateException("queue full"));
+
+        verify(channel).basicPublish(eq(DeadLetterConfig.DLX_NAME), eq(QUEUE + ".parking-lot"), anyBoolean(),
+                any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel).basicPublish(eq(DeadLetterConfig.DLX_NAME), eq(QUEUE + ".retry.1"), anyBoolean(),
+                any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, times(2)).waitForConfirmsOrDie(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject messages from queues without a retry topology")
+    void shouldRejectUnmanagedQueues() throws Exception {
+        assertThatThrownBy(() -> recoverer.recover(message("other-queue", 0), new IllegalStateException("boom")))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        verify(channel, never()).basicPublish(anyString(), anyString(), anyBoolean(),
+                any(AMQP.BasicProperties.class), any(byte[].class));
+    }
+
+    private static Message message(String queue, int retries) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(queue);
+        if (retries > 0) {
+            properties.setHeader(DeadLetterRecoverer.RETRY_COUNT_HEADER, retries);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+}
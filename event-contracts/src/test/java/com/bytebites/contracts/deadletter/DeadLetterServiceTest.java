@@ -0,0 +1,150 @@
+package com.bytebites.contracts.deadletter;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeadLetterServiceTest {
+
+    private static final String QUEUE = "work-queue";
+    private static final String PARKING_LOT = QUEUE + ".parking-lot";
+
+    private RabbitTemplate rabbitTemplate;
+    private AmqpAdmin amqpAdmin;
+    private Channel channel;
+    private DeadLetterService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        amqpAdmin = mock(AmqpAdmin.class);
+        channel = mock(Channel.class);
+        when(rabbitTemplate.execute(any(ChannelCallback.class))).thenAnswer(call -> {
+            try {
+                return call.<ChannelCallback<?>>getArgument(0).doInRabbit(channel);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+        DeadLetterRecoverer recoverer = new DeadLetterRecoverer(rabbitTemplate, Set.of(QUEUE), 3, Duration.ofSeconds(5));
+        service = new DeadLetterService(rabbitTemplate, amqpAdmin, recoverer, 3, 1_000, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Should report the message counts of a queue and its dead-letter queues")
+    void shouldReportStats() {
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 7, 1));
+        when(amqpAdmin.getQueueInfo(QUEUE + ".retry.1")).thenReturn(new QueueInformation(QUEUE + ".retry.1", 2, 0));
+        when(amqpAdmin.getQueueInfo(QUEUE + ".retry.3")).thenReturn(new QueueInformation(QUEUE + ".retry.3", 1, 0));
+        when(amqpAdmin.getQueueInfo(PARKING_LOT)).thenReturn(new QueueInformation(PARKING_LOT, 4, 0));
+
+        assertThat(service.getStats()).containsExactly(new DeadLetterQueueStats(QUEUE, 7, 3, 0, 4));
+    }
+
+    @Test
+    @DisplayName("Should ack a replayed message only after the broker confirmed its copy")
+    void shouldAckAfterConfirm() throws Exception {
+        when(channel.basicGet(PARKING_LOT, false)).thenReturn(parked(1), parked(2), null);
+
+        ReplayStatus status = awaitReplay(service.startReplay(QUEUE, DeadLetterService.PARKING_LOT, 10, null));
+
+        assertThat(status.replayed()).isEqualTo(2);
+        assertThat(status.error()).isNull();
+        InOrder inOrder = inOrder(channel);
+        for (long tag = 1; tag <= 2; tag++) {
+            inOrder.verify(channel).basicPublish(eq(""), eq(QUEUE), any(AMQP.BasicProperties.class), any(byte[].class));
+            inOrder.verify(channel).waitForConfirmsOrDie(5_000);
+            inOrder.verify(channel).basicAck(tag, false);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay a message with a fresh set of retries")
+    void shouldStripRetryHeaders() throws Exception {
+        when(channel.basicGet(PARKING_LOT, false)).thenReturn(parked(1), null);
+
+        awaitReplay(service.startReplay(QUEUE, DeadLetterService.PARKING_LOT, 10, null));
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel).basicPublish(eq(""), eq(QUEUE), properties.capture(), any(byte[].class));
+        assertThat(properties.getValue().getHeaders()).containsOnlyKeys("trace-id");
+    }
+
+    @Test
+    @DisplayName("Should stop and leave the message unacked when the work queue refuses the copy")
+    void shouldNotAckWithoutConfirm() throws Exception {
+        when(channel.basicGet(PARKING_LOT, false)).thenReturn(parked(1));
+        doThrow(new IOException("nack")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        ReplayStatus status = awaitReplay(service.startReplay(QUEUE, DeadLetterService.PARKING_LOT, 10, null));
+
+        assertThat(status.replayed()).isZero();
+        assertThat(status.error()).isNotNull();
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should reject replays of unknown queues and sources")
+    void shouldRejectUnknownQueuesAndSources() throws Exception {
+        assertThatThrownBy(() -> service.startReplay("other-queue", DeadLetterService.PARKING_LOT, 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.startReplay(QUEUE, "retry", 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(channel, never()).basicGet(anyString(), anyBoolean());
+    }
+
+    private ReplayStatus awaitReplay(ReplayStatus started) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        ReplayStatus status = started;
+        while (status.running() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.getReplay(QUEUE).orElseThrow();
+        }
+        assertThat(status.running()).isFalse();
+        return status;
+    }
+
+    private static GetResponse parked(long deliveryTag) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(
+                        "trace-id", "abc",
+                        DeadLetterRecoverer.RETRY_COUNT_HEADER, 3,
+                        DeadLetterRecoverer.PARKED_AT_HEADER, "2024-01-01T00:00:00Z",
+                        "x-death", "[]"))
+                .build();
+        return new GetResponse(new Envelope(deliveryTag, false, DeadLetterConfig.DLX_NAME, PARKING_LOT),
+                properties, "{}".getBytes(), 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bytebites.notification.config;
+
+import com.bytebites.notification.delivery.DeliveryProperties;
+import com.bytebites.notification.delivery.FakeNotificationSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(DeliveryProperties.class)
+public class DeliveryConfig {
+
+    /**
+     * Local sinks for the email and push channels until real providers are wired in.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "notification.delivery.fake-sinks-enabled", havingValue = "true", matchIfMissing = true)
+    static class FakeSinks {
+
+        @Bean
+        public FakeNotificationSink emailSink(
+                @Value("${notification.delivery.fake-latency:0ms}") Duration latency) {
+            return new FakeNotificationSink("email", latency);
+        }
+
+        @Bean
+        public FakeNotificationSink pushSink(
+                @Value("${notification.delivery.fake-latency:0ms}") Duration latency) {
+            return new FakeNotificationSink("push", latency);
+        }
+    }
+}
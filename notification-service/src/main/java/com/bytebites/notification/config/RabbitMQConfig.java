@@ -1,34 +1,53 @@
 package com.bytebites.notification.config;
 
-import com.bytebites.notification.event.OrderPlacedEvent;
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.deadletter.DeadLetterConfig;
+import com.bytebites.contracts.deadletter.DeadLetterRecoverer;
+import com.bytebites.contracts.deadletter.ManagedQueues;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.DefaultClassMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
 @EnableRabbit
+@Import(DeadLetterConfig.class)
 public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "bytebites-exchange";
     public static final String QUEUE_NAME = "notification-service-queue";
     public static final String ROUTING_KEY = "order.placed";
+    public static final String ORDER_STATUS_CHANGED_ROUTING_KEY = "order.status.changed";
+    public static final String ORDER_EVENT_BATCH_FACTORY = "orderEventBatchContainerFactory";
 
     @Bean
-    public Queue queue() {
-        return new Queue(QUEUE_NAME, true, false, false);
+    public Queue queue(@Value("${messaging.dead-letters.max-length:100000}") long maxLength) {
+        return DeadLetterConfig.workQueue(QUEUE_NAME, maxLength).build();
+    }
+
+    @Bean
+    public ManagedQueues managedQueues() {
+        return ManagedQueues.of(QUEUE_NAME);
     }
 
     @Bean
@@ -42,22 +61,30 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    public Binding statusChangedBinding(Queue queue, TopicExchange exchange) {
+        return BindingBuilder.bind(queue).to(exchange).with(ORDER_STATUS_CHANGED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        // Boot's mapper, so event timestamps read as java.time types; order.placed may also
+        // arrive in the shared binary encoding, which is picked by content type
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
         DefaultClassMapper classMapper = new DefaultClassMapper();
         
-        // Map the type ID to our local OrderPlacedEvent class
+        // Map the type ID to the shared OrderPlacedEvent contract
         Map<String, Class<?>> idClassMapping = new HashMap<>();
         idClassMapping.put("order.placed", OrderPlacedEvent.class);
+        idClassMapping.put(ORDER_STATUS_CHANGED_ROUTING_KEY, OrderStatusChangedEvent.class);
         
-        // Map the full class name to our local class
+        // Map the full class name used by older producers to the contract
         idClassMapping.put("com.bytebites.order.event.OrderPlacedEvent", OrderPlacedEvent.class);
         
         classMapper.setIdClassMapping(idClassMapping);
         classMapper.setTrustedPackages("*");
         
         converter.setClassMapper(classMapper);
-        return converter;
+        return new EventContractMessageConverter(converter, false);
     }
 
     @Bean
@@ -76,4 +103,38 @@ public class RabbitMQConfig {
         factory.setMessageConverter(messageConverter);
         return factory;
     }
+
+    /**
+     * Delivers order events to the listener in batches of up to {@code batch-size}
+     * messages, or whatever arrived within {@code receive-timeout}, and acks each
+     * batch with a single multiple-ack once the listener returns. A failed batch is
+     * handed to the {@link DeadLetterRecoverer} instead of being requeued in place.
+     */
+    @Bean(ORDER_EVENT_BATCH_FACTORY)
+    public SimpleRabbitListenerContainerFactory orderEventBatchContainerFactory(
+            ConnectionFactory connectionFactory,
+            DeadLetterRecoverer deadLetterRecoverer,
+            @Value("${notification.consumer.batch-size:100}") int batchSize,
+            @Value("${notification.consumer.receive-timeout:200ms}") Duration receiveTimeout,
+            @Value("${notification.consumer.prefetch:250}") int prefetch,
+            @Value("${notification.consumer.concurrency:2}") int concurrency,
+            @Value("${notification.consumer.max-concurrency:4}") int maxConcurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(deadLetterRecoverer)
+                .build());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        // Keep more than one batch in flight per consumer so the next one is ready when this one is acked
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        return factory;
+    }
 }
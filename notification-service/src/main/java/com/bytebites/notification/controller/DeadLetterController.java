@@ -0,0 +1,59 @@
+package com.bytebites.notification.controller;
+
+import com.bytebites.contracts.deadletter.DeadLetterQueueStats;
+import com.bytebites.contracts.deadletter.DeadLetterService;
+import com.bytebites.contracts.deadletter.ReplayStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(DeadLetterController.PATH)
+// This service has no authentication and is not routed through the gateway, so the
+// endpoints are only registered where explicitly enabled
+@ConditionalOnProperty(name = "messaging.dead-letters.admin-enabled", havingValue = "true")
+@Tag(name = "Dead letters", description = "Dead-letter inspection and replay")
+public class DeadLetterController {
+
+    public static final String PATH = "/api/admin/dead-letters";
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get message counts of the work queues and their dead-letter queues")
+    public ResponseEntity<List<DeadLetterQueueStats>> getStats() {
+        return ResponseEntity.ok(deadLetterService.getStats());
+    }
+
+    @PostMapping("/{queue}/replay")
+    @Operation(summary = "Replay parked or dead-lettered messages into their queue at a bounded rate")
+    public ResponseEntity<ReplayStatus> replay(
+            @PathVariable String queue,
+            @RequestParam(defaultValue = DeadLetterService.PARKING_LOT) String source,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(required = false) Double ratePerSecond) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(deadLetterService.startReplay(queue, source, limit, ratePerSecond));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{queue}/replay")
+    @Operation(summary = "Get the progress of the latest replay of a queue")
+    public ResponseEntity<ReplayStatus> getReplay(@PathVariable String queue) {
+        return deadLetterService.getReplay(queue)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
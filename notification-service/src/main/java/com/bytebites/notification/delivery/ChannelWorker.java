@@ -0,0 +1,182 @@
+package com.bytebites.notification.delivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded work queue and worker pool for one channel. Workers take the rate
+ * limit before each send; failed sends go back on the queue after an
+ * exponential backoff, so a retry never holds a worker while it waits.
+ */
+final class ChannelWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelWorker.class);
+
+    private final NotificationChannel channel;
+    private final DeliveryProperties.ChannelSettings settings;
+    private final ScheduledExecutorService retryScheduler;
+    private final BlockingQueue<Delivery> queue;
+    private final TokenBucket rateLimiter;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter rejected;
+
+    private volatile boolean running;
+
+    ChannelWorker(NotificationChannel channel, DeliveryProperties.ChannelSettings settings,
+                  ScheduledExecutorService retryScheduler, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.settings = settings;
+        this.retryScheduler = retryScheduler;
+        this.queue = new LinkedBlockingQueue<>(settings.getQueueCapacity());
+        this.rateLimiter = settings.getRatePerSecond() > 0 ? new TokenBucket(settings.getRatePerSecond()) : null;
+
+        this.sent = counter(meterRegistry, "sent");
+        this.retried = counter(meterRegistry, "retried");
+        this.failed = counter(meterRegistry, "failed");
+        this.rejected = counter(meterRegistry, "rejected");
+        Gauge.builder("notification.queue.size", queue, BlockingQueue::size)
+                .tag("channel", channel.name())
+                .register(meterRegistry);
+    }
+
+    void start() {
+        running = true;
+        for (int i = 1; i <= settings.getWorkers(); i++) {
+            Thread worker = new Thread(this::work, "notification-" + channel.name() + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    void stop(Duration timeout) throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        if (!queue.isEmpty()) {
+            LOGGER.warn("Dropping {} undelivered {} notifications on shutdown", queue.size(), channel.name());
+        }
+    }
+
+    /**
+     * Waits up to the channel's enqueue timeout for room in the queue.
+     *
+     * @return {@code false} if the queue stayed full
+     */
+    boolean offer(Notification notification) throws InterruptedException {
+        boolean accepted = queue.offer(new Delivery(notification, 1),
+                settings.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (!accepted) {
+            rejected.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Queues without waiting for room.
+     *
+     * @return {@code false} if the queue is full
+     */
+    boolean tryOffer(Notification notification) {
+        boolean accepted = queue.offer(new Delivery(notification, 1));
+        if (!accepted) {
+            rejected.increment();
+        }
+        return accepted;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void work() {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = queue.take();
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            deliver(delivery);
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        Notification notification = delivery.notification();
+        try {
+            channel.send(notification);
+            sent.increment();
+        } catch (PermanentDeliveryException e) {
+            failed.increment();
+            LOGGER.error("Giving up on {} notification {} to {}: {}",
+                    channel.name(), notification.id(), notification.recipient(), e.getMessage());
+        } catch (Exception e) {
+            if (delivery.attempt() >= settings.getMaxAttempts()) {
+                failed.increment();
+                LOGGER.error("Giving up on {} notification {} to {} after {} attempts: {}",
+                        channel.name(), notification.id(), notification.recipient(), delivery.attempt(), e.getMessage());
+                return;
+            }
+            retried.increment();
+            Duration backoff = backoff(delivery.attempt());
+            LOGGER.warn("Attempt {} of {} notification {} failed, retrying in {} ms: {}",
+                    delivery.attempt(), channel.name(), notification.id(), backoff.toMillis(), e.getMessage());
+            scheduleRetry(delivery.next(), backoff);
+        }
+    }
+
+    private void scheduleRetry(Delivery delivery, Duration delay) {
+        retryScheduler.schedule(() -> {
+            // Never block the shared scheduler; wait another round if the queue is full
+            if (running && !queue.offer(delivery)) {
+                scheduleRetry(delivery, delay);
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Full jitter over the upper half keeps retries from a failed burst from arriving in lockstep
+    private Duration backoff(int attempt) {
+        long initial = settings.getInitialBackoff().toMillis();
+        long max = settings.getMaxBackoff().toMillis();
+        long exponential = initial << Math.min(attempt - 1, 30);
+        long capped = exponential <= 0 ? max : Math.min(exponential, max);
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.deliveries")
+                .tag("channel", channel.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Delivery(Notification notification, int attempt) {
+
+        Delivery next() {
+            return new Delivery(notification, attempt + 1);
+        }
+    }
+}
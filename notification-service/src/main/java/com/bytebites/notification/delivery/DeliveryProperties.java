@@ -0,0 +1,111 @@
+package com.bytebites.notification.delivery;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "notification.delivery")
+public class DeliveryProperties {
+
+    /**
+     * Settings per channel name; channels without an entry use the defaults.
+     */
+    private Map<String, ChannelSettings> channels = new HashMap<>();
+
+    /**
+     * Registers in-memory email and push sinks when no real providers are configured.
+     */
+    private boolean fakeSinksEnabled = true;
+
+    public ChannelSettings forChannel(String name) {
+        return channels.getOrDefault(name, new ChannelSettings());
+    }
+
+    public Map<String, ChannelSettings> getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Map<String, ChannelSettings> channels) {
+        this.channels = channels;
+    }
+
+    public boolean isFakeSinksEnabled() {
+        return fakeSinksEnabled;
+    }
+
+    public void setFakeSinksEnabled(boolean fakeSinksEnabled) {
+        this.fakeSinksEnabled = fakeSinksEnabled;
+    }
+
+    public static class ChannelSettings {
+
+        private int workers = 2;
+        private int queueCapacity = 10_000;
+        // How long a consumer waits for room in a full queue before the batch is rejected
+        private Duration enqueueTimeout = Duration.ofSeconds(5);
+        // Sends per second; 0 disables rate limiting
+        private double ratePerSecond = 50;
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(1);
+
+        // Getters and Setters
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getEnqueueTimeout() {
+            return enqueueTimeout;
+        }
+
+        public void setEnqueueTimeout(Duration enqueueTimeout) {
+            this.enqueueTimeout = enqueueTimeout;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bytebites.notification.delivery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory stand-in for an SMTP server or push gateway, for local runs and
+ * tests. Optionally sleeps per send to mimic provider latency.
+ */
+public class FakeNotificationSink implements NotificationChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeNotificationSink.class);
+
+    private final String name;
+    private final Duration latency;
+    private final ConcurrentLinkedQueue<Notification> delivered = new ConcurrentLinkedQueue<>();
+
+    public FakeNotificationSink(String name) {
+        this(name, Duration.ZERO);
+    }
+
+    public FakeNotificationSink(String name, Duration latency) {
+        this.name = name;
+        this.latency = latency;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(Notification notification) throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+        delivered.add(notification);
+        LOGGER.debug("[{}] {} -> {}: {}", name, notification.id(), notification.recipient(), notification.subject());
+    }
+
+    public List<Notification> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package com.bytebites.notification.delivery;
+
+/**
+ * A single message to deliver over one channel.
+ *
+ * @param id        stable identifier used in logs and by providers that support idempotent sends
+ * @param channel   name of the {@link NotificationChannel} that delivers it, e.g. {@code email}
+ * @param recipient channel-specific address
+ */
+public record Notification(String id, String channel, String recipient, String subject, String body) {
+}
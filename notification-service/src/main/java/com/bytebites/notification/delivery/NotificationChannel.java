@@ -0,0 +1,20 @@
+package com.bytebites.notification.delivery;
+
+/**
+ * Delivery SPI. Each implementation registered as a bean gets its own work
+ * queue, worker pool, rate limit and retry policy, configured under
+ * {@code notification.delivery.channels.<name>}.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Unique channel name, e.g. {@code email}, {@code push} or {@code sms}.
+     */
+    String name();
+
+    /**
+     * Delivers one notification, blocking until the provider has accepted it.
+     * Any exception schedules a retry, except {@link PermanentDeliveryException}.
+     */
+    void send(Notification notification) throws Exception;
+}
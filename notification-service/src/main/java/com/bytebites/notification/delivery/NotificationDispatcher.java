@@ -0,0 +1,108 @@
+package com.bytebites.notification.delivery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Entry point of the delivery pipeline. Callers only enqueue; every registered
+ * {@link NotificationChannel} is drained by its own {@link ChannelWorker}, so a
+ * slow or failing provider only ever backs up its own queue.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Map<String, ChannelWorker> workers = new HashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, DeliveryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (NotificationChannel channel : channels) {
+            ChannelWorker worker = new ChannelWorker(channel, properties.forChannel(channel.name()),
+                    retryScheduler, meterRegistry);
+            if (workers.putIfAbsent(channel.name(), worker) != null) {
+                throw new IllegalStateException("Duplicate notification channel: " + channel.name());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        workers.values().forEach(ChannelWorker::start);
+        LOGGER.info("Notification delivery started for channels {}", workers.keySet());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        for (ChannelWorker worker : workers.values()) {
+            worker.stop(SHUTDOWN_TIMEOUT);
+        }
+    }
+
+    /**
+     * Queues a notification for asynchronous delivery. Blocks only while the
+     * channel's queue is full, up to its enqueue timeout.
+     *
+     * @throws RejectedExecutionException if the channel is unknown or its queue stayed full,
+     *                                    so the caller can hand the work back to the broker
+     */
+    public void dispatch(Notification notification) {
+        ChannelWorker worker = workers.get(notification.channel());
+        if (worker == null) {
+            throw new RejectedExecutionException("Unknown notification channel: " + notification.channel());
+        }
+        try {
+            if (!worker.offer(notification)) {
+                throw new RejectedExecutionException("Notification queue for " + notification.channel() + " is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing notification " + notification.id(), e);
+        }
+    }
+
+    /**
+     * Queues a notification only if its channel has room right now, for callers
+     * that serve other channels and must not wait on a full one.
+     *
+     * @return {@code false} if the channel's queue is full
+     * @throws RejectedExecutionException if the channel is unknown
+     */
+    public boolean tryDispatch(Notification notification) {
+        ChannelWorker worker = workers.get(notification.channel());
+        if (worker == null) {
+            throw new RejectedExecutionException("Unknown notification channel: " + notification.channel());
+        }
+        return worker.tryOffer(notification);
+    }
+
+    public boolean supports(String channel) {
+        return workers.containsKey(channel);
+    }
+
+    public int queued(String channel) {
+        ChannelWorker worker = workers.get(channel);
+        return worker == null ? 0 : worker.queued();
+    }
+}
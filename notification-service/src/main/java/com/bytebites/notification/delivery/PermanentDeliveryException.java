@@ -0,0 +1,16 @@
+package com.bytebites.notification.delivery;
+
+/**
+ * Thrown by a {@link NotificationChannel} when retrying cannot help,
+ * e.g. an invalid recipient address.
+ */
+public class PermanentDeliveryException extends RuntimeException {
+
+    public PermanentDeliveryException(String message) {
+        super(message);
+    }
+
+    public PermanentDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
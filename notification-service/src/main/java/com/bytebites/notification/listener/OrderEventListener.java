@@ -1,34 +1,87 @@
 package com.bytebites.notification.listener;
 
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.deadletter.DeadLetterRecoverer;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
 import com.bytebites.notification.config.RabbitMQConfig;
-import com.bytebites.notification.event.OrderPlacedEvent;
+import com.bytebites.notification.service.NotificationService;
+import com.bytebites.notification.service.OrderUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class OrderEventListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderEventListener.class);
 
-    @RabbitListener(queues = RabbitMQConfig.QUEUE_NAME, containerFactory = "rabbitListenerContainerFactory")
-    public void handleOrderPlacedEvent(@Payload OrderPlacedEvent event) {
+    private final NotificationService notificationService;
+    private final MessageConverter messageConverter;
+    private final DeadLetterRecoverer deadLetterRecoverer;
+
+    public OrderEventListener(NotificationService notificationService, MessageConverter messageConverter,
+                              DeadLetterRecoverer deadLetterRecoverer) {
+        this.notificationService = notificationService;
+        this.messageConverter = messageConverter;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+    }
+
+    /**
+     * Receives order events in batches; the container acks the whole batch once
+     * this returns, or rejects it if it throws.
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_NAME, containerFactory = RabbitMQConfig.ORDER_EVENT_BATCH_FACTORY)
+    public void handleOrderEvents(List<Message> messages) {
+        List<OrderUpdate> updates = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                updates.add(toUpdate(messageConverter.fromMessage(message), occurredAt(message)));
+            } catch (MessageConversionException e) {
+                // One malformed message must not send the whole batch back; retrying cannot fix it
+                deadLetterRecoverer.park(message, e);
+            }
+        }
+
+        LOGGER.info("Received batch of {} order events", updates.size());
         try {
-            LOGGER.info("Received order placed event for customer {}: Order ID {}. Sending confirmation email...",
-                    event.customerId(), event.orderId());
-            
-            // Log the received event details
-            LOGGER.debug("Order details - Restaurant ID: {}, Total Amount: {}, Items: {}",
-                    event.restaurantId(), event.totalAmount(), event.items().size());
-
-            // Here, you would add logic to send an actual email or push notification.
-            // For example, using JavaMailSender or a third-party notification service.
-            
+            notificationService.notifyOrderUpdates(updates);
         } catch (Exception e) {
-            LOGGER.error("Error processing order placed event: {}", e.getMessage(), e);
-            throw e; // Re-throw to trigger retry or dead-letter queue if configured
+            LOGGER.error("Error processing batch of {} order events: {}", updates.size(), e.getMessage(), e);
+            throw e; // Rejects the batch so it is redelivered
+        }
+    }
+
+    private static OrderUpdate toUpdate(Object event, LocalDateTime occurredAt) {
+        if (event instanceof OrderPlacedEvent placed) {
+            return OrderUpdate.placed(placed, occurredAt);
+        }
+        if (event instanceof OrderStatusChangedEvent statusChanged) {
+            return OrderUpdate.statusChanged(statusChanged);
+        }
+        throw new MessageConversionException("Unexpected order event type " + event.getClass().getName());
+    }
+
+    // Set by order-service's outbox relay; the order.placed contract carries no time of its own
+    private static LocalDateTime occurredAt(Message message) {
+        Object occurredAt = message.getMessageProperties().getHeader(EventContractMessageConverter.OCCURRED_AT_HEADER);
+        if (occurredAt == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(occurredAt.toString());
+        } catch (DateTimeParseException e) {
+            LOGGER.warn("Ignoring malformed {} header: {}", EventContractMessageConverter.OCCURRED_AT_HEADER, occurredAt);
+            return null;
         }
     }
 }
@@ -1,11 +1,40 @@
 package com.bytebites.notification.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class NotificationService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationService.class);
+
+    private final OrderUpdateCoalescer coalescer;
+
+    public NotificationService(OrderUpdateCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * Hands a batch of order updates to the coalescer, which sends one message per
+     * order once its window closes. Redelivered updates are dropped there.
+     */
+    public void notifyOrderUpdates(List<OrderUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        int accepted = 0;
+        for (OrderUpdate update : updates) {
+            if (coalescer.submit(update)) {
+                accepted++;
+            }
+        }
+        LOGGER.info("Accepted {} of {} order updates for notification", accepted, updates.size());
+    }
+
     @RabbitListener(queues = "order.placed")
     public void handleOrderPlaced(String orderMessage) {
         System.out.println("=== NOTIFICATION SERVICE ===");
@@ -0,0 +1,35 @@
+package com.bytebites.notification.service;
+
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One customer-visible step of an order, as fed into the {@link OrderUpdateCoalescer}.
+ * {@code changedAt} is when the step happened at the producer, or {@code null}
+ * if the message did not say.
+ */
+public record OrderUpdate(Long orderId, Long customerId, Long restaurantId, String status, BigDecimal totalAmount,
+                          LocalDateTime changedAt) {
+
+    public static final String PLACED = "PLACED";
+
+    public static OrderUpdate placed(OrderPlacedEvent event, LocalDateTime placedAt) {
+        return new OrderUpdate(event.orderId(), event.customerId(), event.restaurantId(), PLACED, event.totalAmount(),
+                placedAt);
+    }
+
+    public static OrderUpdate statusChanged(OrderStatusChangedEvent event) {
+        return new OrderUpdate(event.orderId(), event.customerId(), event.restaurantId(), event.status(), null,
+                event.changedAt());
+    }
+
+    /**
+     * Identifies this step across redeliveries and duplicate publishes.
+     */
+    public String idempotencyKey() {
+        return orderId + ":" + status;
+    }
+}
@@ -0,0 +1,233 @@
+package com.bytebites.notification.service;
+
+import com.bytebites.notification.delivery.Notification;
+import com.bytebites.notification.delivery.NotificationDispatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the updates of an order for a short window and sends them as one
+ * message per channel, so an order that moves through several statuses in
+ * quick succession costs one notification instead of one per step. Steps are
+ * listed by {@link OrderUpdate#changedAt()}, since concurrent consumers may
+ * receive them out of order.
+ * <p>
+ * Each channel of an order is collected and flushed on its own. An update is
+ * remembered, by {@link OrderUpdate#idempotencyKey()}, only once its message is
+ * queued on that channel, and updates already remembered or still pending are
+ * dropped. A channel whose queue is full keeps its updates pending and is tried
+ * again a window later, without holding up other channels or orders. Once
+ * {@code max-pending} messages are waiting, {@link #submit} rejects updates so
+ * that the broker redelivers them later.
+ */
+@Component
+public class OrderUpdateCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderUpdateCoalescer.class);
+
+    // Missing times sort first: only order.placed may lack one, and it is always the first step
+    private static final Comparator<OrderUpdate> BY_CHANGED_AT =
+            Comparator.comparing(OrderUpdate::changedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final NotificationDispatcher dispatcher;
+    private final List<String> channels;
+    private final Duration window;
+    private final int maxPending;
+    private final Cache<String, Boolean> sentKeys;
+    private final Map<PendingKey, List<OrderUpdate>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter rejected;
+    private final Counter messages;
+    private final Counter deferred;
+
+    public OrderUpdateCoalescer(NotificationDispatcher dispatcher,
+                                MeterRegistry meterRegistry,
+                                @Value("${notification.order-updates.channels:email,push}") List<String> channels,
+                                @Value("${notification.order-updates.window:2s}") Duration window,
+                                @Value("${notification.order-updates.dedup-ttl:24h}") Duration dedupTtl,
+                                @Value("${notification.order-updates.dedup-maximum-size:500000}") long dedupMaximumSize,
+                                @Value("${notification.order-updates.max-pending:10000}") int maxPending) {
+        this.dispatcher = dispatcher;
+        this.channels = channels.stream().filter(channel -> {
+            boolean supported = dispatcher.supports(channel);
+            if (!supported) {
+                LOGGER.warn("No delivery channel named '{}' is registered, order updates skip it", channel);
+            }
+            return supported;
+        }).toList();
+        this.window = window;
+        this.maxPending = maxPending;
+        this.sentKeys = Caffeine.newBuilder()
+                .expireAfterWrite(dedupTtl)
+                .maximumSize(dedupMaximumSize)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.accepted = counter(meterRegistry, "accepted");
+        this.duplicates = counter(meterRegistry, "duplicate");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.messages = Counter.builder("notification.order-updates.messages").register(meterRegistry);
+        this.deferred = Counter.builder("notification.order-updates.deferred").register(meterRegistry);
+        Gauge.builder("notification.order-updates.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Adds an update to its order's pending message on every channel that has not
+     * had it yet. The first update of an order opens the window; the message goes
+     * out when the window closes.
+     *
+     * @return {@code false} if the update was a duplicate and dropped
+     * @throws RejectedExecutionException if {@code max-pending} messages are already
+     *                                    waiting, so the caller can hand the update back to the broker
+     */
+    public boolean submit(OrderUpdate update) {
+        boolean added = false;
+        for (String channel : channels) {
+            if (sentKeys.getIfPresent(sentKey(update, channel)) != null) {
+                continue;
+            }
+            PendingKey key = new PendingKey(update.customerId(), update.orderId(), channel);
+            if (!pending.containsKey(key) && pending.size() >= maxPending) {
+                rejected.increment();
+                throw new RejectedExecutionException(pending.size() + " order update messages are already pending");
+            }
+            boolean[] outcome = new boolean[2];
+            pending.compute(key, (pendingKey, updates) -> {
+                if (updates == null) {
+                    outcome[1] = true;
+                    updates = new ArrayList<>();
+                }
+                outcome[0] = addIfAbsent(updates, update);
+                return updates;
+            });
+            added |= outcome[0];
+            if (outcome[1]) {
+                schedule(key);
+            }
+        }
+        (added ? accepted : duplicates).increment();
+        return added;
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        closed = true;
+        scheduler.shutdownNow();
+        pending.keySet().forEach(this::flush);
+    }
+
+    int pendingMessages() {
+        return pending.size();
+    }
+
+    private void schedule(PendingKey key) {
+        scheduler.schedule(() -> flush(key), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Runs on the single scheduler thread, so it must never wait on a channel
+    private void flush(PendingKey key) {
+        List<OrderUpdate> updates = pending.remove(key);
+        if (updates == null) {
+            return;
+        }
+        if (dispatcher.tryDispatch(combined(key.channel(), updates))) {
+            updates.forEach(update -> sentKeys.put(sentKey(update, key.channel()), Boolean.TRUE));
+            messages.increment();
+            return;
+        }
+        if (closed) {
+            LOGGER.warn("Dropping {} update(s) of order {} on {}: the queue is full at shutdown",
+                    updates.size(), key.orderId(), key.channel());
+            return;
+        }
+        // Put back together with anything that arrived meanwhile, and try again a window later
+        deferred.increment();
+        boolean[] reopened = new boolean[1];
+        pending.compute(key, (pendingKey, arrived) -> {
+            if (arrived == null) {
+                reopened[0] = true;
+            } else {
+                arrived.forEach(update -> addIfAbsent(updates, update));
+            }
+            return updates;
+        });
+        if (reopened[0]) {
+            schedule(key);
+        }
+    }
+
+    private static boolean addIfAbsent(List<OrderUpdate> updates, OrderUpdate update) {
+        if (updates.stream().anyMatch(existing -> existing.idempotencyKey().equals(update.idempotencyKey()))) {
+            return false;
+        }
+        return updates.add(update);
+    }
+
+    private static String sentKey(OrderUpdate update, String channel) {
+        return channel + ":" + update.idempotencyKey();
+    }
+
+    private Notification combined(String channel, List<OrderUpdate> pendingUpdates) {
+        List<OrderUpdate> updates = pendingUpdates.stream().sorted(BY_CHANGED_AT).toList();
+        OrderUpdate latest = updates.get(updates.size() - 1);
+        String steps = String.join(" → ", updates.stream().map(OrderUpdate::status).toList());
+        // Status changes carry fewer details than the placed event, so take them from any update
+        Long restaurantId = updates.stream().map(OrderUpdate::restaurantId)
+                .filter(Objects::nonNull).findFirst().orElse(null);
+        BigDecimal totalAmount = updates.stream().map(OrderUpdate::totalAmount)
+                .filter(Objects::nonNull).reduce((first, second) -> second).orElse(null);
+
+        StringBuilder body = new StringBuilder("Your order #").append(latest.orderId());
+        if (restaurantId != null) {
+            body.append(" from restaurant ").append(restaurantId);
+        }
+        body.append(": ").append(steps).append('.');
+        if (totalAmount != null) {
+            body.append(" Total: ").append(totalAmount);
+        }
+        return new Notification(
+                // Stable per final step, so providers can deduplicate a resend
+                "order-" + latest.orderId() + "-" + latest.status() + "-" + channel,
+                channel,
+                "customer:" + latest.customerId(),
+                "Order #" + latest.orderId() + " " + latest.status().toLowerCase().replace('_', ' '),
+                body.toString());
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.order-updates")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PendingKey(Long customerId, Long orderId, String channel) {
+    }
+}
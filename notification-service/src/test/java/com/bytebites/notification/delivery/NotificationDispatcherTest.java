@@ -0,0 +1,210 @@
+package com.bytebites.notification.delivery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver queued notifications to the fake sinks")
+    void shouldDeliverToSinks() {
+        FakeNotificationSink email = new FakeNotificationSink("email");
+        FakeNotificationSink push = new FakeNotificationSink("push");
+        start(new DeliveryProperties(), email, push);
+
+        dispatcher.dispatch(notification("1", "email"));
+        dispatcher.dispatch(notification("2", "push"));
+
+        awaitUntil(() -> email.delivered().size() == 1 && push.delivered().size() == 1);
+        assertThat(email.delivered()).extracting(Notification::id).containsExactly("1");
+        assertThat(count("email", "sent")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry failed sends with backoff until they succeed")
+    void shouldRetryUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        FakeNotificationSink sink = new FakeNotificationSink("email");
+        NotificationChannel flaky = new DelegatingChannel("email", notification -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("SMTP 421");
+            }
+            sink.send(notification);
+        });
+        start(fastRetries("email", 5), flaky);
+
+        dispatcher.dispatch(notification("1", "email"));
+
+        awaitUntil(() -> sink.delivered().size() == 1);
+        assertThat(attempts).hasValue(3);
+        assertThat(count("email", "retried")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        start(fastRetries("sms", 3), new DelegatingChannel("sms", notification -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("provider down");
+        }));
+
+        dispatcher.dispatch(notification("1", "sms"));
+
+        awaitUntil(() -> count("sms", "failed") == 1);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry permanent failures")
+    void shouldNotRetryPermanentFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+        start(fastRetries("sms", 5), new DelegatingChannel("sms", notification -> {
+            attempts.incrementAndGet();
+            throw new PermanentDeliveryException("invalid number");
+        }));
+
+        dispatcher.dispatch(notification("1", "sms"));
+
+        awaitUntil(() -> count("sms", "failed") == 1);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should hold each channel to its rate limit")
+    void shouldRateLimitSends() {
+        DeliveryProperties properties = new DeliveryProperties();
+        DeliveryProperties.ChannelSettings settings = new DeliveryProperties.ChannelSettings();
+        settings.setRatePerSecond(20);
+        settings.setWorkers(4);
+        properties.getChannels().put("push", settings);
+        FakeNotificationSink push = new FakeNotificationSink("push");
+        start(properties, push);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 40; i++) {
+            dispatcher.dispatch(notification(String.valueOf(i), "push"));
+        }
+        awaitUntil(() -> push.delivered().size() == 40);
+
+        // 20 permits of burst, then 20 more at 20/s
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+    }
+
+    @Test
+    @DisplayName("Should enqueue without waiting on a slow provider")
+    void shouldNotBlockOnSlowChannel() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeNotificationSink push = new FakeNotificationSink("push");
+        start(new DeliveryProperties(), push, new DelegatingChannel("email", notification -> release.await()));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(notification("email-" + i, "email"));
+        }
+        dispatcher.dispatch(notification("push-1", "push"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        awaitUntil(() -> push.delivered().size() == 1);
+        assertThat(dispatcher.queued("email")).isGreaterThan(0);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject work once a channel queue stays full")
+    void shouldRejectWhenQueueIsFull() {
+        DeliveryProperties properties = new DeliveryProperties();
+        DeliveryProperties.ChannelSettings settings = new DeliveryProperties.ChannelSettings();
+        settings.setWorkers(1);
+        settings.setQueueCapacity(1);
+        settings.setEnqueueTimeout(Duration.ofMillis(50));
+        properties.getChannels().put("email", settings);
+        CountDownLatch release = new CountDownLatch(1);
+        start(properties, new DelegatingChannel("email", notification -> release.await()));
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 3; i++) {
+                dispatcher.dispatch(notification(String.valueOf(i), "email"));
+            }
+        }).isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> dispatcher.dispatch(notification("x", "fax")))
+                .isInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    private void start(DeliveryProperties properties, NotificationChannel... channels) {
+        dispatcher = new NotificationDispatcher(List.of(channels), properties, meterRegistry);
+        dispatcher.start();
+    }
+
+    private DeliveryProperties fastRetries(String channel, int maxAttempts) {
+        DeliveryProperties properties = new DeliveryProperties();
+        DeliveryProperties.ChannelSettings settings = new DeliveryProperties.ChannelSettings();
+        settings.setMaxAttempts(maxAttempts);
+        settings.setInitialBackoff(Duration.ofMillis(10));
+        settings.setMaxBackoff(Duration.ofMillis(50));
+        properties.getChannels().put(channel, settings);
+        return properties;
+    }
+
+    private double count(String channel, String outcome) {
+        return meterRegistry.get("notification.deliveries")
+                .tag("channel", channel).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static Notification notification(String id, String channel) {
+        return new Notification(id, channel, "customer:1", "Order confirmed", "Thanks for your order");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private record DelegatingChannel(String name, Sender sender) implements NotificationChannel {
+
+        @Override
+        public void send(Notification notification) throws Exception {
+            sender.send(notification);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(Notification notification) throws Exception;
+    }
+}
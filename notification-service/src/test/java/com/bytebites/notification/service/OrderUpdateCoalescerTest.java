@@ -0,0 +1,188 @@
+package com.bytebites.notification.service;
+
+import com.bytebites.notification.delivery.DeliveryProperties;
+import com.bytebites.notification.delivery.FakeNotificationSink;
+import com.bytebites.notification.delivery.Notification;
+import com.bytebites.notification.delivery.NotificationChannel;
+import com.bytebites.notification.delivery.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderUpdateCoalescerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeNotificationSink email;
+    private NotificationDispatcher dispatcher;
+    private OrderUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        email = new FakeNotificationSink("email");
+        start(new DeliveryProperties(), List.of("email", "sms"), 1_000, email);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.flushAll();
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should combine quick status changes of an order into one message")
+    void shouldCoalesceStatusChanges() throws InterruptedException {
+        coalescer.submit(new OrderUpdate(7L, 1L, 3L, "PLACED", new BigDecimal("31.00"), T0));
+        coalescer.submit(update(7L, "CONFIRMED", 1));
+        coalescer.submit(update(7L, "PREPARING", 2));
+        coalescer.submit(update(7L, "READY_FOR_DELIVERY", 3));
+
+        List<Notification> delivered = awaitDelivered(email, 1);
+        assertThat(delivered.get(0).id()).isEqualTo("order-7-READY_FOR_DELIVERY-email");
+        assertThat(delivered.get(0).body())
+                .contains("PLACED → CONFIRMED → PREPARING → READY_FOR_DELIVERY")
+                .contains("restaurant 3")
+                .contains("31.00");
+    }
+
+    @Test
+    @DisplayName("Should list steps by the time they happened when they arrive out of order")
+    void shouldOrderStepsByChangeTime() throws InterruptedException {
+        coalescer.submit(update(7L, "PREPARING", 2));
+        coalescer.submit(update(7L, "READY_FOR_DELIVERY", 3));
+        coalescer.submit(new OrderUpdate(7L, 1L, 3L, "PLACED", new BigDecimal("31.00"), null));
+        coalescer.submit(update(7L, "CONFIRMED", 1));
+
+        Notification delivered = awaitDelivered(email, 1).get(0);
+        assertThat(delivered.id()).isEqualTo("order-7-READY_FOR_DELIVERY-email");
+        assertThat(delivered.subject()).isEqualTo("Order #7 ready for delivery");
+        assertThat(delivered.body()).contains("PLACED → CONFIRMED → PREPARING → READY_FOR_DELIVERY");
+    }
+
+    @Test
+    @DisplayName("Should drop updates with an idempotency key it has already seen")
+    void shouldDropDuplicates() throws InterruptedException {
+        assertThat(coalescer.submit(update(7L, "CONFIRMED", 1))).isTrue();
+        assertThat(coalescer.submit(update(7L, "CONFIRMED", 1))).isFalse();
+
+        List<Notification> delivered = awaitDelivered(email, 1);
+        assertThat(delivered.get(0).body()).containsOnlyOnce("CONFIRMED");
+
+        // A redelivery after the window has closed must not notify again
+        assertThat(coalescer.submit(update(7L, "CONFIRMED", 1))).isFalse();
+        assertThat(coalescer.pendingMessages()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep orders in separate messages")
+    void shouldKeepOrdersApart() throws InterruptedException {
+        coalescer.submit(update(7L, "CONFIRMED", 1));
+        coalescer.submit(update(8L, "CONFIRMED", 1));
+
+        assertThat(awaitDelivered(email, 2)).extracting(Notification::id)
+                .containsExactlyInAnyOrder("order-7-CONFIRMED-email", "order-8-CONFIRMED-email");
+    }
+
+    @Test
+    @DisplayName("Should keep a full channel's updates pending without holding up other channels")
+    void shouldDeferFullChannel() throws InterruptedException {
+        tearDown();
+        CountDownLatch release = new CountDownLatch(1);
+        FakeNotificationSink slowSink = new FakeNotificationSink("email");
+        NotificationChannel slowEmail = new NotificationChannel() {
+            @Override
+            public String name() {
+                return "email";
+            }
+
+            @Override
+            public void send(Notification notification) throws Exception {
+                release.await();
+                slowSink.send(notification);
+            }
+        };
+        FakeNotificationSink push = new FakeNotificationSink("push");
+        DeliveryProperties properties = new DeliveryProperties();
+        DeliveryProperties.ChannelSettings oneAtATime = new DeliveryProperties.ChannelSettings();
+        oneAtATime.setWorkers(1);
+        oneAtATime.setQueueCapacity(1);
+        // Would stall every order for this long if the flush waited on the queue
+        oneAtATime.setEnqueueTimeout(Duration.ofSeconds(30));
+        properties.getChannels().put("email", oneAtATime);
+        start(properties, List.of("email", "push"), 1_000, slowEmail, push);
+
+        // The only email worker takes the first message and hangs on it
+        coalescer.submit(update(1L, "CONFIRMED", 1));
+        awaitDelivered(push, 1);
+        // The second message fills the email queue, the third finds it full
+        coalescer.submit(update(2L, "CONFIRMED", 1));
+        coalescer.submit(update(3L, "CONFIRMED", 1));
+
+        assertThat(awaitDelivered(push, 3)).extracting(Notification::id)
+                .contains("order-2-CONFIRMED-push", "order-3-CONFIRMED-push");
+        assertThat(meterRegistry.get("notification.order-updates.deferred").counter().count()).isPositive();
+        assertThat(coalescer.pendingMessages()).isEqualTo(1);
+        // Still pending, so a redelivery is a duplicate; push has already had it
+        assertThat(coalescer.submit(update(3L, "CONFIRMED", 1))).isFalse();
+
+        release.countDown();
+        assertThat(awaitDelivered(slowSink, 3)).extracting(Notification::id)
+                .containsExactlyInAnyOrder("order-1-CONFIRMED-email", "order-2-CONFIRMED-email",
+                        "order-3-CONFIRMED-email");
+        assertThat(coalescer.pendingMessages()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject updates for new orders once max-pending messages are waiting")
+    void shouldBoundPendingMessages() throws InterruptedException {
+        tearDown();
+        email = new FakeNotificationSink("email");
+        start(new DeliveryProperties(), List.of("email"), 1, email);
+
+        assertThat(coalescer.submit(update(7L, "CONFIRMED", 1))).isTrue();
+        assertThatThrownBy(() -> coalescer.submit(update(8L, "CONFIRMED", 1)))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(coalescer.submit(update(7L, "PREPARING", 2))).isTrue();
+
+        assertThat(awaitDelivered(email, 1).get(0).id()).isEqualTo("order-7-PREPARING-email");
+        // Rejected before it was remembered, so the broker's redelivery goes through
+        assertThat(coalescer.submit(update(8L, "CONFIRMED", 1))).isTrue();
+    }
+
+    private void start(DeliveryProperties properties, List<String> channels, int maxPending,
+                       NotificationChannel... sinks) {
+        dispatcher = new NotificationDispatcher(List.of(sinks), properties, meterRegistry);
+        dispatcher.start();
+        coalescer = new OrderUpdateCoalescer(dispatcher, meterRegistry, channels,
+                Duration.ofMillis(200), Duration.ofHours(1), 1_000, maxPending);
+    }
+
+    private static OrderUpdate update(Long orderId, String status, int minute) {
+        return new OrderUpdate(orderId, 1L, null, status, null, T0.plusMinutes(minute));
+    }
+
+    private static List<Notification> awaitDelivered(FakeNotificationSink sink, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (sink.delivered().size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        // Give a late duplicate the chance to show up
+        Thread.sleep(300);
+        assertThat(sink.delivered()).hasSize(expected);
+        return sink.delivered();
+    }
+}
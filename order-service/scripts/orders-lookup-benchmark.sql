@@ -0,0 +1,78 @@
+-- Lookup latency of the OrderRepository access paths at 10M orders,
+-- comparing a plain heap table without indexes, the indexed heap table
+-- (default profile) and the monthly partitioned layout ("partitioned" profile).
+--
+--   createdb bytebites_bench
+--   psql -d bytebites_bench -f scripts/orders-lookup-benchmark.sql > bench.txt
+--
+-- Loading takes several minutes and ~4 GB of disk per layout.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS bench_heap CASCADE;
+DROP SCHEMA IF EXISTS bench_indexed CASCADE;
+DROP SCHEMA IF EXISTS bench_partitioned CASCADE;
+CREATE SCHEMA bench_heap;
+CREATE SCHEMA bench_indexed;
+CREATE SCHEMA bench_partitioned;
+
+-- 10M orders over 24 months, 200k customers, 2k restaurants
+CREATE TABLE bench_heap.orders (
+    id            BIGINT PRIMARY KEY,
+    customer_id   BIGINT         NOT NULL,
+    restaurant_id BIGINT         NOT NULL,
+    status        VARCHAR(255),
+    total_amount  NUMERIC(38, 2) NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    updated_at    TIMESTAMP(6)
+);
+
+INSERT INTO bench_heap.orders
+SELECT g,
+       (random() * 200000)::BIGINT,
+       (random() * 2000)::BIGINT,
+       'DELIVERED',
+       (random() * 100)::NUMERIC(38, 2),
+       TIMESTAMP '2024-10-01' + (g / 10000000.0) * INTERVAL '730 days',
+       NULL
+FROM generate_series(1, 10000000) g;
+
+CREATE TABLE bench_indexed.orders AS TABLE bench_heap.orders;
+ALTER TABLE bench_indexed.orders ADD PRIMARY KEY (id);
+CREATE INDEX ON bench_indexed.orders (customer_id, created_at DESC, id DESC);
+CREATE INDEX ON bench_indexed.orders (restaurant_id, created_at DESC, id DESC);
+
+CREATE TABLE bench_partitioned.orders (LIKE bench_heap.orders INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+    PARTITION BY RANGE (created_at);
+DO $$
+DECLARE
+    month DATE := DATE '2024-10-01';
+BEGIN
+    WHILE month < DATE '2026-11-01' LOOP
+        EXECUTE format('CREATE TABLE bench_partitioned.orders_%s PARTITION OF bench_partitioned.orders FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+INSERT INTO bench_partitioned.orders SELECT * FROM bench_heap.orders;
+CREATE INDEX ON bench_partitioned.orders (customer_id, created_at DESC, id DESC);
+CREATE INDEX ON bench_partitioned.orders (restaurant_id, created_at DESC, id DESC);
+CREATE INDEX ON bench_partitioned.orders (id);
+
+ANALYZE bench_heap.orders;
+ANALYZE bench_indexed.orders;
+ANALYZE bench_partitioned.orders;
+
+-- Each query runs once to warm the cache, then under EXPLAIN ANALYZE.
+\echo '=== heap, no secondary indexes ==='
+SET search_path = bench_heap;
+\ir orders-lookup-queries.sql
+
+\echo '=== heap, composite indexes ==='
+SET search_path = bench_indexed;
+\ir orders-lookup-queries.sql
+
+\echo '=== partitioned by month, composite indexes ==='
+SET search_path = bench_partitioned;
+\ir orders-lookup-queries.sql
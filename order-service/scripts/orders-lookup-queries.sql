@@ -0,0 +1,22 @@
+-- Access paths of OrderRepository, run by orders-lookup-benchmark.sql
+-- against whichever schema is first on the search_path.
+
+\echo '-- my-orders, first page'
+SELECT id FROM orders WHERE customer_id = 4242 ORDER BY created_at DESC, id DESC LIMIT 51;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders WHERE customer_id = 4242 ORDER BY created_at DESC, id DESC LIMIT 51;
+
+\echo '-- restaurant orders, page behind a cursor'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders
+WHERE restaurant_id = 17
+  AND (created_at < TIMESTAMP '2026-03-01' OR (created_at = TIMESTAMP '2026-03-01' AND id < 9000000))
+ORDER BY created_at DESC, id DESC LIMIT 51;
+
+\echo '-- order by id and customer'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders WHERE id = 7654321 AND customer_id = 4242;
+
+\echo '-- order by id and restaurant'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders WHERE id = 7654321 AND restaurant_id = 17;
@@ -0,0 +1,100 @@
+package com.bytebites.order.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accepts the identity headers signed by the API gateway after it has verified
+ * the bearer token, so the token does not have to be parsed a second time here.
+ * The signature is an HMAC-SHA256 over {@code subject + "\n" + roles + "\n" + expiresEpochSeconds}.
+ */
+@Slf4j
+@Component
+public class IdentityHeaderVerifier {
+
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final boolean enabled;
+
+    public IdentityHeaderVerifier(@Value("${identity.header-secret:${jwt.secret}}") String secret,
+                                  @Value("${identity.trust-gateway-headers:true}") boolean enabled) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the forwarded identity if the headers are present, correctly signed
+     * and not expired; otherwise empty, and the caller falls back to the JWT.
+     */
+    public Optional<JwtPrincipal> verify(HttpServletRequest request) {
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (!enabled || signature == null) {
+            return Optional.empty();
+        }
+
+        String subject = request.getHeader(USER_HEADER);
+        String roles = request.getHeader(ROLES_HEADER);
+        String expires = request.getHeader(EXPIRES_HEADER);
+        if (subject == null || roles == null || expires == null) {
+            return Optional.empty();
+        }
+
+        long expiresEpochSeconds;
+        try {
+            expiresEpochSeconds = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        Instant expiresAt = Instant.ofEpochSecond(expiresEpochSeconds);
+        if (expiresAt.isBefore(Instant.now())) {
+            log.debug("Forwarded identity for {} has expired", subject);
+            return Optional.empty();
+        }
+
+        byte[] expected = sign(subject + "\n" + roles + "\n" + expiresEpochSeconds);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            log.warn("Rejected identity headers with an invalid signature for {}", subject);
+            return Optional.empty();
+        }
+
+        List<String> roleList = roles.isEmpty()
+                ? List.of()
+                : Arrays.stream(roles.split(",")).map(String::trim).filter(r -> !r.isEmpty()).toList();
+        return Optional.of(new JwtPrincipal(subject, roleList, expiresAt));
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to verify identity headers", e);
+        }
+    }
+}
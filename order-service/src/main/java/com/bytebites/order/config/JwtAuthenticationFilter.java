@@ -1,14 +1,14 @@
 package com.bytebites.order.config;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,18 +19,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, IdentityHeaderVerifier identityHeaderVerifier) {
+        this.jwtVerifier = jwtVerifier;
+        this.identityHeaderVerifier = identityHeaderVerifier;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -38,27 +40,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                   @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         
+        // Requests routed through the gateway carry an already verified, signed identity
+        JwtPrincipal forwarded = identityHeaderVerifier.verify(request).orElse(null);
+
         String header = request.getHeader("Authorization");
         
-        if (header == null || !header.startsWith("Bearer ")) {
+        if (forwarded == null && (header == null || !header.startsWith("Bearer "))) {
             log.debug("No JWT token found in request headers");
             response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid Authorization header");
             return;
         }
 
         try {
-            String token = header.replace("Bearer ", "");
-            log.debug("Attempting to validate JWT token");
-            
-            // Parse JWT token
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            JwtPrincipal principal = forwarded;
+            if (principal == null) {
+                String token = header.replace("Bearer ", "");
+                log.debug("Attempting to validate JWT token");
 
-            // Extract username and roles
-            String username = claims.getSubject();
+                // Verify the token once and extract username and roles
+                principal = jwtVerifier.verify(token);
+            }
+            String username = principal.subject();
             if (username == null || username.trim().isEmpty()) {
                 log.error("Username is null or empty in JWT token");
                 response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid token: missing username");
@@ -66,7 +68,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             // Process roles
-            List<String> roles = extractRoles(claims);
+            List<String> roles = principal.roles();
             if (roles.isEmpty()) {
                 log.warn("No valid roles found in JWT token for user: {}", username);
                 response.sendError(HttpStatus.FORBIDDEN.value(), "No valid roles found in token");
@@ -99,33 +101,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Error processing authentication");
         }
     }
-    
-    private List<String> extractRoles(Claims claims) {
-        Object rolesClaim = claims.get("roles");
-        List<String> roles = new ArrayList<>();
-        
-        if (rolesClaim == null) {
-            return roles;
-        }
-        
-        try {
-            if (rolesClaim instanceof String) {
-                String roleStr = ((String) rolesClaim).trim();
-                if (!roleStr.isEmpty()) {
-                    roles.add(roleStr);
-                }
-            } else if (rolesClaim instanceof List) {
-                roles = ((List<?>) rolesClaim).stream()
-                        .filter(Objects::nonNull)
-                        .map(Object::toString)
-                        .map(String::trim)
-                        .filter(s -> !s.isEmpty())
-                        .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to parse roles claim: {}", e.getMessage());
-        }
-        
-        return roles;
-    }
 }
@@ -0,0 +1,15 @@
+package com.bytebites.order.config;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity carried by a verified JWT. Produced once per request by
+ * {@link JwtVerifier} so the token is never parsed twice.
+ */
+public record JwtPrincipal(String subject, List<String> roles, Instant expiresAt) {
+
+    public JwtPrincipal {
+        roles = List.copyOf(roles);
+    }
+}
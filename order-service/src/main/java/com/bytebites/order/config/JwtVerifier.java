@@ -0,0 +1,73 @@
+package com.bytebites.order.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies bearer tokens with a signing key and parser built once at startup.
+ * The parser is immutable and thread-safe, so it is shared by all requests.
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+
+    public JwtVerifier(@Value("${jwt.secret}") String jwtSecret) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    /**
+     * Checks the signature and expiry and extracts the identity in a single parse.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return new JwtPrincipal(claims.getSubject(), extractRoles(claims), expiresAt);
+    }
+
+    private List<String> extractRoles(Claims claims) {
+        Object rolesClaim = claims.get("roles");
+        List<String> roles = new ArrayList<>();
+        
+        if (rolesClaim == null) {
+            return roles;
+        }
+        
+        try {
+            if (rolesClaim instanceof String) {
+                String roleStr = ((String) rolesClaim).trim();
+                if (!roleStr.isEmpty()) {
+                    roles.add(roleStr);
+                }
+            } else if (rolesClaim instanceof List) {
+                roles = ((List<?>) rolesClaim).stream()
+                        .filter(Objects::nonNull)
+                        .map(Object::toString)
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .collect(Collectors.toList());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to parse roles claim: {}", e.getMessage());
+        }
+        
+        return roles;
+    }
+}
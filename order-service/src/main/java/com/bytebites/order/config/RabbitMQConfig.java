@@ -1,13 +1,21 @@
 package com.bytebites.order.config;
 
-import com.bytebites.order.event.OrderPlacedEvent;
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.DefaultClassMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,26 +27,48 @@ public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "bytebites-exchange";
     public static final String ORDER_PLACED_ROUTING_KEY = "order.placed";
+    // Simple type id matching the class mapping in the consuming services
+    public static final String ORDER_PLACED_TYPE_ID = "order.placed";
+    public static final String ORDER_STATUS_CHANGED_ROUTING_KEY = "order.status.changed";
+    public static final String ORDER_STATUS_CHANGED_TYPE_ID = "order.status.changed";
+    public static final String MENU_UPDATED_ROUTING_KEY = "menu.updated";
+    public static final String MENU_UPDATED_TYPE_ID = "menu.updated";
 
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE_NAME, true, false);
     }
 
+    // Every instance keeps its own price cache, so each one needs its own auto-deleted queue
     @Bean
-    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+    public Queue menuUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding menuUpdatesBinding(Queue menuUpdatesQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(menuUpdatesQueue).to(exchange).with(MENU_UPDATED_ROUTING_KEY);
+    }
+
+    // order.placed goes out in the shared Avro encoding once messaging.order-placed.binary is
+    // switched on, which must wait until every consumer runs a build that can read it
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper,
+                                             @Value("${messaging.order-placed.binary:false}") boolean binary) {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
         DefaultClassMapper classMapper = new DefaultClassMapper();
         
         // Map the outgoing message type to the correct class
         Map<String, Class<?>> idClassMapping = new HashMap<>();
-        idClassMapping.put("order.placed", OrderPlacedEvent.class);
+        idClassMapping.put(ORDER_PLACED_TYPE_ID, OrderPlacedEvent.class);
+        idClassMapping.put(ORDER_STATUS_CHANGED_TYPE_ID, OrderStatusChangedEvent.class);
+        idClassMapping.put(MENU_UPDATED_TYPE_ID, MenuUpdatedEvent.class);
         
         classMapper.setIdClassMapping(idClassMapping);
-        classMapper.setTrustedPackages("com.bytebites.order.event");
+        classMapper.setTrustedPackages("com.bytebites.contracts.event");
         
         converter.setClassMapper(classMapper);
-        return converter;
+        return new EventContractMessageConverter(converter, binary);
     }
 
     @Bean
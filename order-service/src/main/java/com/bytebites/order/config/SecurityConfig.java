@@ -1,5 +1,6 @@
 package com.bytebites.order.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -40,10 +41,12 @@ public class SecurityConfig {
                 config.setAllowedOrigins(Arrays.asList("*"));
                 config.setAllowedMethods(Arrays.asList("*"));
                 config.setAllowedHeaders(Arrays.asList("*"));
-                config.setExposedHeaders(Arrays.asList("Authorization"));
+                config.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor"));
                 return config;
             }))
             .authorizeHttpRequests(auth -> auth
+                // Streaming responses complete on an async dispatch that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .anyRequest().authenticated()
@@ -1,62 +1,150 @@
 package com.bytebites.order.controller;
 
+import com.bytebites.order.dto.BatchOrderRequest;
+import com.bytebites.order.dto.CursorPage;
+import com.bytebites.order.dto.OrderCursor;
 import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.dto.OrderResponse;
+import com.bytebites.order.dto.OrderStatusTransition;
+import com.bytebites.order.exception.DuplicateIdempotencyKeyException;
 import com.bytebites.order.model.Order;
+import com.bytebites.order.service.IdempotencyStore;
 import com.bytebites.order.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Orders", description = "Order management APIs")
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
-    @Operation(summary = "Place a new order (Customer only)")
-    public ResponseEntity<Order> placeOrder(
+    @Operation(summary = "Place a new order (Customer only); repeating an Idempotency-Key returns the original order")
+    public ResponseEntity<OrderResponse> placeOrder(
             @Valid @RequestBody OrderRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         // Get user ID from JWT token
         String userId = authentication.getName();
         Long customerId = Long.parseLong(userId);
 
-        Order order = orderService.createOrder(request, customerId);
-        return ResponseEntity.ok(order);
+        if (idempotencyKey == null) {
+            Order order = orderService.createOrder(request, customerId, null);
+            return ResponseEntity.ok(OrderResponse.from(order, order.getOrderItems()));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+        }
+
+        Optional<OrderResponse> previous = idempotencyStore.findPrevious(customerId, idempotencyKey, request);
+        if (previous.isPresent()) {
+            return replay(previous.get());
+        }
+        try {
+            Order order = orderService.createOrder(request, customerId, idempotencyKey);
+            OrderResponse response = OrderResponse.from(order, order.getOrderItems());
+            // A circuit-breaker fallback order was never saved and must not be replayed
+            if (order.getId() != null) {
+                idempotencyStore.remember(customerId, idempotencyKey, request, response);
+            }
+            return ResponseEntity.ok(response);
+        } catch (DuplicateIdempotencyKeyException e) {
+            // A concurrent request with the same key placed the order first
+            return idempotencyStore.findPrevious(customerId, idempotencyKey, request)
+                    .map(this::replay)
+                    .orElseThrow(() -> e);
+        }
     }
 
-    @GetMapping("/my-orders")
+    private ResponseEntity<OrderResponse> replay(OrderResponse response) {
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(response);
+    }
+
+    @PostMapping("/batch")
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
-    @Operation(summary = "Get customer orders")
-    public ResponseEntity<List<Order>> getMyOrders(Authentication authentication) {
+    @Operation(summary = "Place up to 500 orders in one request (Customer only)")
+    public ResponseEntity<List<OrderResponse>> placeOrders(
+            @Valid @RequestBody BatchOrderRequest request,
+            Authentication authentication) {
         String userId = authentication.getName();
         Long customerId = Long.parseLong(userId);
-        List<Order> orders = orderService.getCustomerOrders(customerId);
+
+        List<OrderResponse> orders = orderService.createOrders(request.getOrders(), customerId).stream()
+                .map(order -> OrderResponse.from(order, order.getOrderItems()))
+                .toList();
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/my-orders")
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Get customer orders, newest first (paginated via the X-Next-Cursor header)")
+    public ResponseEntity<List<OrderResponse>> getMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication) {
+        String userId = authentication.getName();
+        Long customerId = Long.parseLong(userId);
+        CursorPage<OrderResponse> page = orderService.getCustomerOrders(customerId, parseCursor(cursor), clampLimit(limit));
+        return pageResponse(page);
+    }
+
+    @GetMapping(value = "/my-orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_CUSTOMER')")
+    @Operation(summary = "Stream the full customer order history as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamMyOrders(Authentication authentication) {
+        String userId = authentication.getName();
+        Long customerId = Long.parseLong(userId);
+        return ndjsonResponse(consumer -> orderService.streamCustomerOrders(customerId, consumer));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @Operation(summary = "Get specific order (Customer only)")
-    public ResponseEntity<Order> getOrderById(
+    public ResponseEntity<OrderResponse> getOrderById(
             @PathVariable Long id,
             Authentication authentication) {
         
         String userId = authentication.getName();
         Long customerId = Long.parseLong(userId);
-        Optional<Order> order = orderService.getOrderById(id, customerId);
+        Optional<OrderResponse> order = orderService.getOrderById(id, customerId);
 
         return order.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -64,23 +152,87 @@ public class OrderController {
 
     @GetMapping("/restaurant/{restaurantId}")
     @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
-    @Operation(summary = "Get restaurant orders (Restaurant Owner only)")
-    public ResponseEntity<List<Order>> getRestaurantOrders(@PathVariable Long restaurantId) {
-        List<Order> orders = orderService.getRestaurantOrders(restaurantId);
-        return ResponseEntity.ok(orders);
+    @Operation(summary = "Get restaurant orders, newest first (Restaurant Owner only, paginated via the X-Next-Cursor header)")
+    public ResponseEntity<List<OrderResponse>> getRestaurantOrders(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        CursorPage<OrderResponse> page = orderService.getRestaurantOrders(restaurantId, parseCursor(cursor), clampLimit(limit));
+        return pageResponse(page);
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
+    @Operation(summary = "Stream the full restaurant order history as NDJSON (Restaurant Owner only)")
+    public ResponseEntity<StreamingResponseBody> streamRestaurantOrders(@PathVariable Long restaurantId) {
+        return ndjsonResponse(consumer -> orderService.streamRestaurantOrders(restaurantId, consumer));
+    }
+
+    @GetMapping(value = "/active", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_SERVICE')")
+    @Operation(summary = "Stream all orders not yet out for delivery as NDJSON (internal, service identity only)")
+    public ResponseEntity<StreamingResponseBody> streamActiveOrders() {
+        return ndjsonResponse(orderService::streamActiveOrders);
     }
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
-    @Operation(summary = "Update order status (Restaurant Owner only)")
-    public ResponseEntity<Order> updateOrderStatus(
+    @Operation(summary = "Update order status (Restaurant Owner only); pass version to reject concurrent changes")
+    public ResponseEntity<OrderStatusTransition> updateOrderStatus(
             @PathVariable Long id,
             @RequestParam Order.OrderStatus status,
-            @RequestParam Long restaurantId) {
+            @RequestParam Long restaurantId,
+            @RequestParam(required = false) Long version) {
 
-        Optional<Order> updatedOrder = orderService.updateOrderStatus(id, status, restaurantId);
+        Optional<OrderStatusTransition> updatedOrder =
+                orderService.updateOrderStatus(id, status, restaurantId, version);
 
         return updatedOrder.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-} 
+
+    private OrderCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return response.body(page.items());
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjsonResponse(Consumer<Consumer<OrderResponse>> source) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            source.accept(order -> {
+                try {
+                    out.write(writer.writeValueAsBytes(order));
+                    out.write('\n');
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bytebites.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchOrderRequest {
+
+    public static final int MAX_ORDERS = 500;
+
+    @NotNull(message = "Orders are required")
+    @Size(min = 1, max = MAX_ORDERS, message = "A batch must contain between 1 and " + MAX_ORDERS + " orders")
+    @Valid
+    private List<OrderRequest> orders;
+
+    // Getters and Setters
+    public List<OrderRequest> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderRequest> orders) {
+        this.orders = orders;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bytebites.order.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, OrderCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
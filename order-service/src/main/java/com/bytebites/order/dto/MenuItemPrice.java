@@ -0,0 +1,12 @@
+package com.bytebites.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * The parts of a restaurant-service menu item needed to price an order.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MenuItemPrice(Long id, String name, BigDecimal price, boolean available) {
+}
@@ -3,7 +3,6 @@ package com.bytebites.order.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
@@ -61,13 +60,15 @@ public class OrderRequest {
 
     public static class OrderItemRequest {
 
-        @NotBlank(message = "Item name is required")
-        @Schema(description = "Name of the item being ordered", example = "Cheeseburger")
+        @NotNull(message = "Menu item ID is required")
+        @Schema(description = "ID of the restaurant menu item being ordered", example = "42")
+        private Long menuItemId;
+
+        @Schema(description = "Name of the item being ordered; taken from the menu", example = "Cheeseburger")
         private String name;
 
-        @NotNull(message = "Price is required")
         @Positive(message = "Price must be positive")
-        @Schema(description = "Price of a single item", example = "12.99")
+        @Schema(description = "Price the client displayed; rejected if it no longer matches the menu", example = "12.99")
         private BigDecimal price;
 
         @NotNull(message = "Quantity is required")
@@ -76,6 +77,14 @@ public class OrderRequest {
         private Integer quantity;
 
         // Getters and Setters
+        public Long getMenuItemId() {
+            return menuItemId;
+        }
+
+        public void setMenuItemId(Long menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+
         public String getName() {
             return name;
         }
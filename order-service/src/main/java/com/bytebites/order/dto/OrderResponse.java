@@ -0,0 +1,65 @@
+package com.bytebites.order.dto;
+
+import com.bytebites.order.model.Order;
+import com.bytebites.order.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model returned by every order endpoint. Built from an {@link Order} and its items
+ * loaded up front, so serializing it never touches a lazy association.
+ */
+public record OrderResponse(
+        Long id,
+        Long customerId,
+        Long restaurantId,
+        Order.OrderStatus status,
+        BigDecimal totalAmount,
+        String deliveryAddress,
+        String specialInstructions,
+        List<OrderItemResponse> orderItems,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static OrderResponse from(Order order, List<OrderItem> items) {
+        List<OrderItemResponse> itemResponses = items.stream()
+                .map(OrderItemResponse::from)
+                .toList();
+        return new OrderResponse(
+                order.getId(),
+                order.getCustomerId(),
+                order.getRestaurantId(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getDeliveryAddress(),
+                order.getSpecialInstructions(),
+                itemResponses,
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        );
+    }
+
+    public record OrderItemResponse(
+            Long id,
+            Long menuItemId,
+            String name,
+            Integer quantity,
+            BigDecimal price,
+            BigDecimal totalPrice
+    ) {
+
+        public static OrderItemResponse from(OrderItem item) {
+            return new OrderItemResponse(
+                    item.getId(),
+                    item.getMenuItemId(),
+                    item.getName(),
+                    item.getQuantity(),
+                    item.getPrice(),
+                    item.getTotalPrice()
+            );
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bytebites.order.dto;
+
+import com.bytebites.order.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An order row as it stands after a status update, together with the status it
+ * had before. {@code previousStatus} equals {@code status} when nothing changed.
+ */
+public record OrderStatusTransition(
+        Long id,
+        Long customerId,
+        Long restaurantId,
+        Order.OrderStatus previousStatus,
+        Order.OrderStatus status,
+        BigDecimal totalAmount,
+        long version,
+        LocalDateTime updatedAt
+) {
+
+    public static OrderStatusTransition unchanged(Order order) {
+        return new OrderStatusTransition(
+                order.getId(),
+                order.getCustomerId(),
+                order.getRestaurantId(),
+                order.getStatus(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getVersion(),
+                order.getUpdatedAt()
+        );
+    }
+
+    public boolean changed() {
+        return previousStatus != status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bytebites.order.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Another request with the same {@code Idempotency-Key} placed its order first.
+ * The caller should answer with that order instead. Not retried.
+ */
+public class DuplicateIdempotencyKeyException extends OrderValidationException {
+
+    public DuplicateIdempotencyKeyException(String idempotencyKey) {
+        super(HttpStatus.CONFLICT, "Idempotency-Key " + idempotencyKey + " is already in use");
+    }
+}
@@ -44,6 +44,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, headers, status);
     }
 
+    @ExceptionHandler(OrderValidationException.class)
+    public ResponseEntity<Object> handleOrderValidation(OrderValidationException ex, WebRequest request) {
+        LOGGER.warn("Order rejected: {}", ex.getMessage());
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatus().value());
+        body.put("error", ex.getMessage());
+        return new ResponseEntity<>(body, ex.getStatus());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
         LOGGER.error("Unexpected error", ex);
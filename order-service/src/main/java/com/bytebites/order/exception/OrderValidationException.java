@@ -0,0 +1,21 @@
+package com.bytebites.order.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An order that cannot be accepted as submitted, e.g. an item that is not on
+ * the menu or a price that no longer matches it. Not retried.
+ */
+public class OrderValidationException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public OrderValidationException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
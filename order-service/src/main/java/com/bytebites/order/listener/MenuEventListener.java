@@ -0,0 +1,26 @@
+package com.bytebites.order.listener;
+
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.order.service.MenuPriceCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MenuEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MenuEventListener.class);
+
+    private final MenuPriceCatalog menuPriceCatalog;
+
+    public MenuEventListener(MenuPriceCatalog menuPriceCatalog) {
+        this.menuPriceCatalog = menuPriceCatalog;
+    }
+
+    @RabbitListener(queues = "#{menuUpdatesQueue.name}")
+    public void handleMenuUpdated(MenuUpdatedEvent event) {
+        LOGGER.debug("Menu of restaurant {} changed, evicting cached prices", event.restaurantId());
+        menuPriceCatalog.evictRestaurant(event.restaurantId());
+    }
+}
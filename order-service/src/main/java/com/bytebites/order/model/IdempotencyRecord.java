@@ -0,0 +1,83 @@
+package com.bytebites.order.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * The order a customer's {@code Idempotency-Key} produced. Written in the order's
+ * transaction; the unique constraint is what makes concurrent duplicates lose.
+ */
+@Entity
+@Table(name = "order_idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_customer_key",
+                columnNames = {"customer_id", "idempotency_key"}),
+        // Purge of expired keys
+        indexes = @Index(name = "idx_order_idempotency_created", columnList = "created_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_idempotency_keys_seq")
+    @SequenceGenerator(name = "order_idempotency_keys_seq", sequenceName = "order_idempotency_keys_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @NotNull
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, so a reused key with a different order is caught
+    @NotNull
+    @Column(length = 64)
+    private String requestHash;
+
+    @NotNull
+    private Long orderId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(Long customerId, String idempotencyKey, String requestHash, Long orderId) {
+        this.customerId = customerId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
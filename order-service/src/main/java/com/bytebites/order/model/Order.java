@@ -7,14 +7,27 @@ import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Keyset listings filter by owner and walk (created_at, id) newest first;
+        // lookups by (id, customer_id) / (id, restaurant_id) are served by the primary key
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at DESC, id DESC"),
+        @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at DESC, id DESC"),
+        // Active-order snapshot; the partitioned schema uses a partial index instead
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at, id")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -43,6 +56,11 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // The default lets Hibernate add the column to an existing table
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -127,6 +145,10 @@ public class Order {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public enum OrderStatus {
         PENDING,
         CONFIRMED,
@@ -134,6 +156,33 @@ public class Order {
         READY_FOR_DELIVERY,
         OUT_FOR_DELIVERY,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+
+        private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+        static {
+            allow(PENDING, CONFIRMED, CANCELLED);
+            allow(CONFIRMED, PREPARING, CANCELLED);
+            allow(PREPARING, READY_FOR_DELIVERY, CANCELLED);
+            allow(READY_FOR_DELIVERY, OUT_FOR_DELIVERY);
+            allow(OUT_FOR_DELIVERY, DELIVERED);
+        }
+
+        private static void allow(OrderStatus from, OrderStatus... targets) {
+            for (OrderStatus target : targets) {
+                SOURCES.computeIfAbsent(target, status -> EnumSet.noneOf(OrderStatus.class)).add(from);
+            }
+        }
+
+        /**
+         * Statuses an order may move to this status from; empty for {@code PENDING}.
+         */
+        public Set<OrderStatus> sources() {
+            return Collections.unmodifiableSet(SOURCES.getOrDefault(this, EnumSet.noneOf(OrderStatus.class)));
+        }
+
+        public boolean canTransitionTo(OrderStatus target) {
+            return target.sources().contains(this);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.bytebites.order.repository;
+
+import com.bytebites.order.model.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // Loads the items of a whole page of orders in one round trip
+    @Query("SELECT i FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItem> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
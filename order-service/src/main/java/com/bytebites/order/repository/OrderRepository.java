@@ -1,20 +1,74 @@
 package com.bytebites.order.repository;
 
 import com.bytebites.order.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    
-    List<Order> findByCustomerId(Long customerId);
-    
-    List<Order> findByRestaurantId(Long restaurantId);
-    
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStatusUpdates {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    // Keyset pagination, newest first: (createdAt, id) is the cursor. The row-value
+    // comparison lets Postgres seek the (customer_id|restaurant_id, created_at, id) index.
+    // The casts are there because Hibernate cannot type bare parameters inside a tuple
+
+    List<Order> findByCustomerIdOrderByCreatedAtDescIdDesc(Long customerId, Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId " +
+           "AND (o.createdAt, o.id) < (CAST(:createdAt AS LocalDateTime), CAST(:id AS Long)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByCustomerIdBefore(@Param("customerId") Long customerId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    List<Order> findByRestaurantIdOrderByCreatedAtDescIdDesc(Long restaurantId, Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId " +
+           "AND (o.createdAt, o.id) < (CAST(:createdAt AS LocalDateTime), CAST(:id AS Long)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByRestaurantIdBefore(@Param("restaurantId") Long restaurantId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    // Cursor-backed streams for NDJSON export; must be consumed inside a transaction
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<Order> streamByCustomerId(@Param("customerId") Long customerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<Order> streamByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses ORDER BY o.createdAt, o.id")
+    Stream<Order> streamByStatusIn(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
     Optional<Order> findByIdAndCustomerId(Long id, Long customerId);
-    
+
     Optional<Order> findByIdAndRestaurantId(Long id, Long restaurantId);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.bytebites.order.repository;
+
+import com.bytebites.order.dto.OrderStatusTransition;
+import com.bytebites.order.model.Order;
+
+import java.util.Optional;
+
+/**
+ * Status updates that bypass the persistence context, mixed into {@link OrderRepository}.
+ */
+public interface OrderStatusUpdates {
+
+    /**
+     * Moves an order of a restaurant to {@code status} in a single statement, but
+     * only if its current status is one of {@code status.sources()} and, when
+     * {@code expectedVersion} is given, its version still matches. Bumps the
+     * version and returns the updated row, or empty if no row qualified.
+     */
+    Optional<OrderStatusTransition> transitionStatus(Long orderId, Long restaurantId,
+                                                     Order.OrderStatus status, Long expectedVersion);
+}
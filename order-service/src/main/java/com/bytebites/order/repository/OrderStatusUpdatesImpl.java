@@ -0,0 +1,73 @@
+package com.bytebites.order.repository;
+
+import com.bytebites.order.dto.OrderStatusTransition;
+import com.bytebites.order.model.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+class OrderStatusUpdatesImpl implements OrderStatusUpdates {
+
+    // The CTE locks the row and captures the status it had, which RETURNING alone
+    // cannot see; the update itself re-checks the transition against that status.
+    // Joining on created_at as well keeps the update on one partition when the
+    // table is partitioned.
+    private static final String TRANSITION_SQL = """
+            WITH current_order AS (
+                SELECT id, created_at, status FROM orders
+                WHERE id = :orderId AND restaurant_id = :restaurantId
+                FOR UPDATE
+            )
+            UPDATE orders o
+            SET status = :status, version = o.version + 1, updated_at = :updatedAt
+            FROM current_order c
+            WHERE o.id = c.id AND o.created_at = c.created_at
+              AND c.status IN (:sources)
+              AND (:expectedVersion IS NULL OR o.version = :expectedVersion)
+            RETURNING o.id, o.customer_id, o.restaurant_id, c.status AS previous_status, o.status,
+                      o.total_amount, o.version, o.updated_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    OrderStatusUpdatesImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<OrderStatusTransition> transitionStatus(Long orderId, Long restaurantId,
+                                                            Order.OrderStatus status, Long expectedVersion) {
+        if (status.sources().isEmpty()) {
+            return Optional.empty();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("orderId", orderId)
+                .addValue("restaurantId", restaurantId)
+                .addValue("status", status.name())
+                .addValue("updatedAt", LocalDateTime.now())
+                .addValue("sources", status.sources().stream().map(Enum::name).toList())
+                // Typed so Postgres can resolve the parameter when it is null
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        return jdbcTemplate.query(TRANSITION_SQL, parameters, OrderStatusUpdatesImpl::mapTransition)
+                .stream()
+                .findFirst();
+    }
+
+    private static OrderStatusTransition mapTransition(ResultSet rs, int rowNum) throws SQLException {
+        return new OrderStatusTransition(
+                rs.getLong("id"),
+                rs.getLong("customer_id"),
+                rs.getLong("restaurant_id"),
+                Order.OrderStatus.valueOf(rs.getString("previous_status")),
+                Order.OrderStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("total_amount"),
+                rs.getLong("version"),
+                rs.getObject("updated_at", LocalDateTime.class)
+        );
+    }
+}
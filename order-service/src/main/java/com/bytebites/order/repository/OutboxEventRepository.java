@@ -0,0 +1,50 @@
+package com.bytebites.order.repository;
+
+import com.bytebites.order.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // LockOptions.SKIP_LOCKED as a lock timeout hint
+    String SKIP_LOCKED = "-2";
+
+    // Oldest unpublished rows that no other relay instance holds; rows locked by a
+    // concurrent claim are skipped rather than waited on (FOR UPDATE SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now OR e.claimedBy = :owner) " +
+           "ORDER BY e.id")
+    List<OutboxEvent> findClaimable(@Param("now") LocalDateTime now, @Param("owner") String owner,
+                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :owner, e.claimedUntil = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
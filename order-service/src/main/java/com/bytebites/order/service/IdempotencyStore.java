@@ -0,0 +1,158 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.dto.OrderResponse;
+import com.bytebites.order.exception.DuplicateIdempotencyKeyException;
+import com.bytebites.order.exception.OrderValidationException;
+import com.bytebites.order.model.IdempotencyRecord;
+import com.bytebites.order.repository.IdempotencyRecordRepository;
+import com.bytebites.order.repository.OrderItemRepository;
+import com.bytebites.order.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Remembers which order each {@code Idempotency-Key} placed, per customer, for
+ * {@code orders.idempotency.ttl}. Replays are answered from an in-memory LRU of
+ * recent responses; the database table behind it is the source of truth and
+ * covers other instances and restarts.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    static final String CACHE_NAME = "order-idempotency";
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<Key, Replay> responses;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            OrderRepository orderRepository,
+                            OrderItemRepository orderItemRepository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${orders.idempotency.cache-size:100000}") long cacheSize) {
+        this.recordRepository = recordRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    /**
+     * Returns the response of the order this key already placed, if any. A key
+     * reused for a different request is rejected with 422. Cache hits touch no
+     * connection, so no transaction is opened here.
+     */
+    public Optional<OrderResponse> findPrevious(Long customerId, String idempotencyKey, OrderRequest request) {
+        String requestHash = fingerprint(request);
+        Key key = new Key(customerId, idempotencyKey);
+        Replay replay = responses.getIfPresent(key);
+        if (replay == null) {
+            replay = load(customerId, idempotencyKey).orElse(null);
+            if (replay == null) {
+                return Optional.empty();
+            }
+            responses.put(key, replay);
+        }
+        if (!replay.requestHash().equals(requestHash)) {
+            throw new OrderValidationException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different order");
+        }
+        return Optional.of(replay.response());
+    }
+
+    /**
+     * Claims the key for a new order, inside the transaction that creates it.
+     * Flushed right away so a concurrent duplicate fails here, not at commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long customerId, String idempotencyKey, OrderRequest request, Long orderId) {
+        try {
+            recordRepository.saveAndFlush(
+                    new IdempotencyRecord(customerId, idempotencyKey, fingerprint(request), orderId));
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateIdempotencyKeyException(idempotencyKey);
+        }
+    }
+
+    /**
+     * Caches the response of a committed order for replays on this instance.
+     */
+    public void remember(Long customerId, String idempotencyKey, OrderRequest request, OrderResponse response) {
+        responses.put(new Key(customerId, idempotencyKey), new Replay(fingerprint(request), response));
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            LOGGER.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Optional<Replay> load(Long customerId, String idempotencyKey) {
+        Optional<IdempotencyRecord> found =
+                recordRepository.findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        IdempotencyRecord record = found.get();
+        if (record.getCreatedAt().isBefore(LocalDateTime.now().minus(ttl))) {
+            // Not purged yet; free the key so it can place a new order
+            recordRepository.delete(record);
+            return Optional.empty();
+        }
+        return orderRepository.findById(record.getOrderId())
+                .map(order -> OrderResponse.from(order, orderItemRepository.findByOrderIdIn(List.of(order.getId()))))
+                .map(response -> new Replay(record.getRequestHash(), response));
+    }
+
+    String fingerprint(OrderRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint order request", e);
+        }
+    }
+
+    private record Key(Long customerId, String idempotencyKey) {
+    }
+
+    private record Replay(String requestHash, OrderResponse response) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.MenuItemPrice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Authoritative menu prices for order creation. Items are held in a short-lived
+ * near-cache; whatever is missing for an order is fetched from restaurant-service
+ * in a single batched call. {@code menu.updated} events evict a restaurant's items
+ * early, the TTL covers events that never arrive.
+ */
+@Service
+public class MenuPriceCatalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MenuPriceCatalog.class);
+
+    static final String CACHE_NAME = "menu-prices";
+
+    private static final ParameterizedTypeReference<List<MenuItemPrice>> ITEM_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final Cache<MenuItemKey, MenuItemPrice> cache;
+
+    public MenuPriceCatalog(RestClient.Builder loadBalancedRestClientBuilder,
+                            MeterRegistry meterRegistry,
+                            @Value("${restaurant-service.url:http://restaurant-service}") String restaurantServiceUrl,
+                            @Value("${menu.price-cache.maximum-size:50000}") long maximumSize,
+                            @Value("${menu.price-cache.ttl:30s}") Duration ttl) {
+        this.restClient = loadBalancedRestClientBuilder.baseUrl(restaurantServiceUrl).build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the current menu entries for the given items, keyed by item id.
+     * Items that are not on the restaurant's menu are absent from the result.
+     */
+    public Map<Long, MenuItemPrice> getPrices(Long restaurantId, Collection<Long> itemIds) {
+        Set<MenuItemKey> keys = itemIds.stream()
+                .map(itemId -> new MenuItemKey(restaurantId, itemId))
+                .collect(Collectors.toSet());
+        return cache.getAll(keys, missing -> fetch(restaurantId, missing)).entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().itemId(), Map.Entry::getValue));
+    }
+
+    public void evictRestaurant(Long restaurantId) {
+        cache.asMap().keySet().removeIf(key -> key.restaurantId().equals(restaurantId));
+    }
+
+    private Map<MenuItemKey, MenuItemPrice> fetch(Long restaurantId, Set<? extends MenuItemKey> missing) {
+        List<Long> ids = missing.stream().map(MenuItemKey::itemId).sorted().toList();
+        LOGGER.debug("Fetching {} menu items of restaurant {}", ids.size(), restaurantId);
+        try {
+            List<MenuItemPrice> items = restClient.get()
+                    .uri(uri -> uri.path("/api/restaurants/{restaurantId}/menu/items")
+                            .queryParam("ids", ids)
+                            .build(restaurantId))
+                    .retrieve()
+                    .body(ITEM_LIST);
+            return items == null ? Map.of() : items.stream()
+                    .collect(Collectors.toMap(item -> new MenuItemKey(restaurantId, item.id()), Function.identity()));
+        } catch (HttpClientErrorException.NotFound e) {
+            // Unknown restaurant: none of the items exist
+            return Map.of();
+        }
+    }
+
+    record MenuItemKey(Long restaurantId, Long itemId) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.bytebites.order.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly partitions of the {@code orders} table created ahead of time
+ * when the "partitioned" profile is active, so inserts never land in the
+ * default partition during normal operation.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.partitioning.enabled", havingValue = "true")
+public class OrderPartitionMaintenance {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${orders.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = String.format("orders_y%dm%02d", month.getYear(), month.getMonthValue());
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF orders FOR VALUES FROM ('%s') TO ('%s')",
+                name, from, to));
+        LOGGER.debug("Ensured orders partition {} [{}, {})", name, from, to);
+    }
+}
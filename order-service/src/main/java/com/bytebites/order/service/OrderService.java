@@ -1,49 +1,151 @@
 package com.bytebites.order.service;
 
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.order.dto.CursorPage;
+import com.bytebites.order.dto.MenuItemPrice;
+import com.bytebites.order.dto.OrderCursor;
 import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.dto.OrderResponse;
+import com.bytebites.order.dto.OrderStatusTransition;
+import com.bytebites.order.exception.OrderValidationException;
 import com.bytebites.order.model.Order;
 import com.bytebites.order.model.OrderItem;
+import com.bytebites.order.repository.OrderItemRepository;
 import com.bytebites.order.repository.OrderRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
 import com.bytebites.order.config.RabbitMQConfig;
-import com.bytebites.order.event.OrderPlacedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderService.class);
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    // Orders a restaurant still has to prepare or hand over
+    static final Set<Order.OrderStatus> ACTIVE_STATUSES = EnumSet.of(
+            Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING,
+            Order.OrderStatus.READY_FOR_DELIVERY);
+
     private final OrderRepository orderRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OrderItemRepository orderItemRepository;
+    private final OutboxService outboxService;
+    private final MenuPriceCatalog menuPriceCatalog;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, RabbitTemplate rabbitTemplate) {
+    public OrderService(OrderRepository orderRepository,
+                        OrderItemRepository orderItemRepository,
+                        OutboxService outboxService,
+                        MenuPriceCatalog menuPriceCatalog,
+                        IdempotencyStore idempotencyStore,
+                        TransactionTemplate transactionTemplate) {
         this.orderRepository = orderRepository;
-        this.rabbitTemplate = rabbitTemplate;
+        this.orderItemRepository = orderItemRepository;
+        this.outboxService = outboxService;
+        this.menuPriceCatalog = menuPriceCatalog;
+        this.idempotencyStore = idempotencyStore;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @CircuitBreaker(name = "orderService", fallbackMethod = "createOrderFallback")
     @Retry(name = "orderService")
-    public Order createOrder(OrderRequest request, Long customerId) {
+    public Order createOrder(OrderRequest request, Long customerId, String idempotencyKey) {
+        // Prices come from the menu, never from the client: one batched lookup, usually a near-cache hit.
+        // On a miss it calls restaurant-service, so it runs before a pooled connection is taken
+        Map<Long, MenuItemPrice> menu = menuPriceCatalog.getPrices(request.getRestaurantId(), menuItemIds(request));
+        Order order = buildOrder(request, customerId, menu);
+
+        return transactionTemplate.execute(status -> {
+            Order savedOrder = orderRepository.save(order);
+
+            if (idempotencyKey != null) {
+                // A retry of an attempt that did commit fails here instead of placing the order twice
+                idempotencyStore.record(customerId, idempotencyKey, request, savedOrder.getId());
+            }
+
+            publishOrderPlacedEvent(savedOrder);
+
+            return savedOrder;
+        });
+    }
+
+    /**
+     * Bulk variant of {@link #createOrder} for partner integrations. All orders
+     * are written in one transaction; with sequence ids the orders, their items
+     * and the outbox rows go to the database as JDBC batches.
+     */
+    public List<Order> createOrders(List<OrderRequest> requests, Long customerId) {
+        // One menu lookup per restaurant in the batch rather than per order, before the transaction
+        Map<Long, Set<Long>> itemIdsByRestaurant = requests.stream()
+                .collect(Collectors.groupingBy(OrderRequest::getRestaurantId,
+                        Collectors.flatMapping(request -> menuItemIds(request).stream(), Collectors.toSet())));
+        Map<Long, Map<Long, MenuItemPrice>> menus = new HashMap<>();
+        itemIdsByRestaurant.forEach((restaurantId, itemIds) ->
+                menus.put(restaurantId, menuPriceCatalog.getPrices(restaurantId, itemIds)));
+
+        List<Order> orders = requests.stream()
+                .map(request -> buildOrder(request, customerId, menus.get(request.getRestaurantId())))
+                .toList();
+
+        return transactionTemplate.execute(status -> {
+            List<Order> savedOrders = orderRepository.saveAll(orders);
+
+            publishOrderPlacedEvents(savedOrders);
+
+            return savedOrders;
+        });
+    }
+
+    private Set<Long> menuItemIds(OrderRequest request) {
+        return request.getItems().stream()
+                .map(OrderRequest.OrderItemRequest::getMenuItemId)
+                .collect(Collectors.toSet());
+    }
+
+    private Order buildOrder(OrderRequest request, Long customerId, Map<Long, MenuItemPrice> menu) {
         Order order = new Order();
 
         List<OrderItem> orderItems = request.getItems().stream()
                 .map(itemRequest -> {
+                    MenuItemPrice menuItem = resolveMenuItem(itemRequest, request.getRestaurantId(), menu);
                     OrderItem orderItem = new OrderItem();
-                    orderItem.setName(itemRequest.getName());
+                    orderItem.setMenuItemId(menuItem.id());
+                    orderItem.setName(menuItem.name());
                     orderItem.setQuantity(itemRequest.getQuantity());
-                    orderItem.setPrice(itemRequest.getPrice());
-                    orderItem.setTotalPrice(itemRequest.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+                    orderItem.setPrice(menuItem.price());
+                    orderItem.setTotalPrice(menuItem.price().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
                     orderItem.setOrder(order);
                     return orderItem;
                 }).toList();
@@ -58,15 +160,33 @@ public class OrderService {
         order.setDeliveryAddress(request.getDeliveryAddress());
         order.setSpecialInstructions(request.getSpecialInstructions());
         order.setOrderItems(orderItems);
+        return order;
+    }
 
-        Order savedOrder = orderRepository.save(order);
-
-        publishOrderPlacedEvent(savedOrder);
-
-        return savedOrder;
+    private MenuItemPrice resolveMenuItem(OrderRequest.OrderItemRequest itemRequest, Long restaurantId,
+                                          Map<Long, MenuItemPrice> menu) {
+        MenuItemPrice menuItem = menu.get(itemRequest.getMenuItemId());
+        if (menuItem == null) {
+            throw new OrderValidationException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Menu item " + itemRequest.getMenuItemId() + " is not on the menu of restaurant " + restaurantId);
+        }
+        if (!menuItem.available()) {
+            throw new OrderValidationException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Menu item " + menuItem.id() + " is currently unavailable");
+        }
+        // A price sent by the client is only a check that it showed the customer the current price
+        if (itemRequest.getPrice() != null && itemRequest.getPrice().compareTo(menuItem.price()) != 0) {
+            throw new OrderValidationException(HttpStatus.CONFLICT,
+                    "Price of menu item " + menuItem.id() + " has changed to " + menuItem.price());
+        }
+        return menuItem;
     }
 
-    public Order createOrderFallback(OrderRequest request, Long customerId, Exception ex) {
+    public Order createOrderFallback(OrderRequest request, Long customerId, String idempotencyKey, Exception ex) {
+        if (ex instanceof OrderValidationException validationException) {
+            // The order itself is wrong; there is nothing to fall back to
+            throw validationException;
+        }
         System.out.println("Circuit breaker triggered: " + ex.getMessage());
         
         // Create a fallback order with minimal information
@@ -81,6 +201,30 @@ public class OrderService {
     }
 
     private void publishOrderPlacedEvent(Order order) {
+        // Written in the order's transaction; OutboxRelay publishes it once committed
+        outboxService.enqueue(
+            order.getId(),
+            RabbitMQConfig.ORDER_PLACED_ROUTING_KEY,
+            RabbitMQConfig.ORDER_PLACED_TYPE_ID,
+            toOrderPlacedEvent(order)
+        );
+        
+        LOGGER.info("Queued OrderPlacedEvent for order ID: {}, customer ID: {}", 
+            order.getId(), order.getCustomerId());
+    }
+
+    private void publishOrderPlacedEvents(List<Order> orders) {
+        outboxService.enqueueAll(
+            RabbitMQConfig.ORDER_PLACED_ROUTING_KEY,
+            RabbitMQConfig.ORDER_PLACED_TYPE_ID,
+            orders.stream().map(this::toOrderPlacedEvent).toList(),
+            OrderPlacedEvent::orderId
+        );
+
+        LOGGER.info("Queued {} OrderPlacedEvents in bulk", orders.size());
+    }
+
+    private OrderPlacedEvent toOrderPlacedEvent(Order order) {
         List<OrderPlacedEvent.OrderItemData> itemData = order.getOrderItems().stream()
                 .map(item -> new OrderPlacedEvent.OrderItemData(
                         item.getName(),
@@ -88,57 +232,163 @@ public class OrderService {
                         item.getPrice()
                 )).toList();
 
-        OrderPlacedEvent event = new OrderPlacedEvent(
+        return new OrderPlacedEvent(
                 order.getId(),
                 order.getCustomerId(),
                 order.getRestaurantId(),
                 itemData,
                 order.getTotalAmount()
         );
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getCustomerOrders(Long customerId, OrderCursor cursor, int limit) {
+        // Fetch one extra row to know whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Order> orders = cursor == null
+                ? orderRepository.findByCustomerIdOrderByCreatedAtDescIdDesc(customerId, pageable)
+                : orderRepository.findByCustomerIdBefore(customerId, cursor.createdAt(), cursor.id(), pageable);
+        return toPage(orders, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getRestaurantOrders(Long restaurantId, OrderCursor cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Order> orders = cursor == null
+                ? orderRepository.findByRestaurantIdOrderByCreatedAtDescIdDesc(restaurantId, pageable)
+                : orderRepository.findByRestaurantIdBefore(restaurantId, cursor.createdAt(), cursor.id(), pageable);
+        return toPage(orders, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCustomerOrders(Long customerId, Consumer<OrderResponse> consumer) {
+        try (Stream<Order> orders = orderRepository.streamByCustomerId(customerId)) {
+            forEachInChunks(orders, consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamRestaurantOrders(Long restaurantId, Consumer<OrderResponse> consumer) {
+        try (Stream<Order> orders = orderRepository.streamByRestaurantId(restaurantId)) {
+            forEachInChunks(orders, consumer);
+        }
+    }
 
-        // Add explicit type information to the message
-        rabbitTemplate.convertAndSend(
-            RabbitMQConfig.EXCHANGE_NAME, 
-            RabbitMQConfig.ORDER_PLACED_ROUTING_KEY, 
-            event,
-            message -> {
-                // Use a simple type ID that matches the mapping in the notification service
-                message.getMessageProperties().setHeader("__TypeId__", "order.placed");
-                return message;
+    private void forEachInChunks(Stream<Order> orders, Consumer<OrderResponse> consumer) {
+        List<Order> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        orders.forEach(order -> {
+            chunk.add(order);
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                emitChunk(chunk, consumer);
             }
-        );
-        
-        LOGGER.info("Published OrderPlacedEvent for order ID: {}, customer ID: {}", 
-            order.getId(), order.getCustomerId());
+        });
+        emitChunk(chunk, consumer);
     }
 
-    public List<Order> getCustomerOrders(Long customerId) {
-        return orderRepository.findByCustomerId(customerId);
+    private void emitChunk(List<Order> chunk, Consumer<OrderResponse> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        toResponses(chunk).forEach(consumer);
+        chunk.clear();
+        // Evict the written rows so the persistence context stays flat
+        entityManager.clear();
+    }
+
+    private CursorPage<OrderResponse> toPage(List<Order> orders, int limit) {
+        if (orders.size() <= limit) {
+            return new CursorPage<>(toResponses(orders), null);
+        }
+        List<Order> page = orders.subList(0, limit);
+        Order last = page.get(limit - 1);
+        return new CursorPage<>(toResponses(page), new OrderCursor(last.getCreatedAt(), last.getId()));
     }
 
-    public List<Order> getRestaurantOrders(Long restaurantId) {
-        return orderRepository.findByRestaurantId(restaurantId);
+    private List<OrderResponse> toResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        // One IN query for the items of all orders instead of one lazy load per order
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        return orders.stream()
+                .map(order -> OrderResponse.from(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .toList();
     }
 
-    public Optional<Order> getOrderById(Long orderId, Long customerId) {
-        return orderRepository.findByIdAndCustomerId(orderId, customerId);
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getOrderById(Long orderId, Long customerId) {
+        return orderRepository.findByIdAndCustomerId(orderId, customerId)
+                .map(order -> toResponses(List.of(order)).get(0));
     }
 
-    public Optional<Order> getOrderByIdForRestaurant(Long orderId, Long restaurantId) {
-        return orderRepository.findByIdAndRestaurantId(orderId, restaurantId);
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getOrderByIdForRestaurant(Long orderId, Long restaurantId) {
+        return orderRepository.findByIdAndRestaurantId(orderId, restaurantId)
+                .map(order -> toResponses(List.of(order)).get(0));
     }
 
-    public Optional<Order> updateOrderStatus(Long orderId, Order.OrderStatus status, Long restaurantId) {
+    /**
+     * Moves an order along its status state machine with one conditional UPDATE,
+     * so concurrent updates from different devices cannot overwrite each other.
+     * Repeating the current status is a no-op. A transition the state machine
+     * does not allow, or a stale {@code expectedVersion}, is rejected with 409.
+     */
+    @Transactional
+    public Optional<OrderStatusTransition> updateOrderStatus(Long orderId, Order.OrderStatus status,
+                                                             Long restaurantId, Long expectedVersion) {
+        Optional<OrderStatusTransition> transition =
+                orderRepository.transitionStatus(orderId, restaurantId, status, expectedVersion);
+        if (transition.isPresent()) {
+            publishOrderStatusChangedEvent(transition.get());
+            return transition;
+        }
+
+        // Nothing was updated; only this path reads the order to explain why
         Optional<Order> orderOpt = orderRepository.findByIdAndRestaurantId(orderId, restaurantId);
-        
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
-            order.setStatus(status);
-            return Optional.of(orderRepository.save(order));
+        if (orderOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = orderOpt.get();
+        if (order.getStatus() == status && (expectedVersion == null || expectedVersion == order.getVersion())) {
+            return Optional.of(OrderStatusTransition.unchanged(order));
+        }
+        if (order.getStatus() != status && !order.getStatus().canTransitionTo(status)) {
+            throw new OrderValidationException(HttpStatus.CONFLICT,
+                    "Order " + orderId + " cannot move from " + order.getStatus() + " to " + status);
+        }
+        throw new OrderValidationException(HttpStatus.CONFLICT,
+                "Order " + orderId + " was modified concurrently; current version is " + order.getVersion());
+    }
+
+    /**
+     * Streams all orders that are still in the kitchen or on their way, oldest
+     * first. Used by restaurant-service to rebuild its kitchen queues on startup.
+     */
+    @Transactional(readOnly = true)
+    public void streamActiveOrders(Consumer<OrderResponse> consumer) {
+        try (Stream<Order> orders = orderRepository.streamByStatusIn(ACTIVE_STATUSES)) {
+            forEachInChunks(orders, consumer);
         }
-        
-        return Optional.empty();
     }
 
+    private void publishOrderStatusChangedEvent(OrderStatusTransition transition) {
+        outboxService.enqueue(
+            transition.id(),
+            RabbitMQConfig.ORDER_STATUS_CHANGED_ROUTING_KEY,
+            RabbitMQConfig.ORDER_STATUS_CHANGED_TYPE_ID,
+            new OrderStatusChangedEvent(
+                transition.id(),
+                transition.customerId(),
+                transition.restaurantId(),
+                transition.previousStatus().name(),
+                transition.status().name(),
+                transition.updatedAt()
+            )
+        );
 
+        LOGGER.info("Queued OrderStatusChangedEvent for order ID: {}, {} -> {}",
+            transition.id(), transition.previousStatus(), transition.status());
+    }
 } 
\ No newline at end of file
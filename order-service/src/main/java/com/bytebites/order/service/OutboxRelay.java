@@ -0,0 +1,211 @@
+package com.bytebites.order.service;
+
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.order.config.RabbitMQConfig;
+import com.bytebites.order.model.OutboxEvent;
+import com.bytebites.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Drains the outbox table to {@code bytebites-exchange} in batches.
+ * <p>
+ * Messages are sent without waiting for the broker: each carries a
+ * {@link CorrelationData} whose confirm is collected asynchronously and the
+ * acknowledged rows are marked as published in one UPDATE on the next run.
+ * Every run rescans the oldest unpublished rows (ids are not committed in
+ * order, so a cursor could skip rows) and skips those still awaiting a
+ * confirm. Nacked or failed sends are picked up again on a later run, which
+ * makes delivery at-least-once; the outbox id is sent as the message id so
+ * consumers can de-duplicate.
+ * <p>
+ * Several order-service instances can run the relay: each claims its batch
+ * with {@code FOR UPDATE SKIP LOCKED} and leases the rows for
+ * {@code outbox.relay.lease}, so other instances skip them until they are
+ * published or the lease runs out.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> confirmed = new ConcurrentLinkedQueue<>();
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    // Longer than a broker confirm takes; an instance that dies leaves its rows to the others after this
+    @Value("${outbox.relay.lease:30s}")
+    private Duration lease;
+
+    @Value("${outbox.relay.retention:24h}")
+    private Duration retention;
+
+    @Value("${messaging.order-placed.binary:false}")
+    private boolean binaryOrderPlaced;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository, RabbitTemplate rabbitTemplate,
+                       MessageConverter messageConverter, ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:250}")
+    public void relay() {
+        flushConfirmed();
+
+        List<OutboxEvent> claimed;
+        try {
+            claimed = claimBatch();
+        } catch (DataAccessException e) {
+            LOGGER.warn("Unable to claim outbox events: {}", e.getMessage());
+            return;
+        }
+        int sent = 0;
+        for (OutboxEvent event : claimed) {
+            inFlight.add(event.getId());
+            try {
+                send(event);
+                sent++;
+            } catch (AmqpException e) {
+                LOGGER.warn("Broker unavailable, outbox event {} will be retried: {}", event.getId(), e.getMessage());
+                inFlight.remove(event.getId());
+                break;
+            }
+        }
+
+        if (sent > 0) {
+            LOGGER.debug("Relayed {} outbox events, {} awaiting confirmation", sent, inFlight.size());
+        }
+    }
+
+    // Commits the lease before anything is sent, so other instances see it while confirms are pending
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Over-fetch by the number of unconfirmed rows so a full batch of new ones is available
+            List<OutboxEvent> batch = outboxRepository
+                    .findClaimable(now, instanceId, PageRequest.of(0, batchSize + inFlight.size()))
+                    .stream()
+                    .filter(event -> !inFlight.contains(event.getId()))
+                    .limit(batchSize)
+                    .toList();
+            if (!batch.isEmpty()) {
+                outboxRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), instanceId, now.plus(lease));
+            }
+            return batch;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            LOGGER.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private void send(OutboxEvent event) {
+        Long id = event.getId();
+        Message message = toMessage(event);
+
+        CorrelationData correlation = new CorrelationData(id.toString());
+        correlation.getFuture().whenComplete((confirm, ex) -> {
+            if (ex == null && confirm.isAck()) {
+                confirmed.add(id);
+            } else {
+                LOGGER.warn("Outbox event {} was not confirmed by the broker: {}", id,
+                        ex != null ? ex.getMessage() : confirm.getReason());
+                inFlight.remove(id);
+            }
+        });
+
+        rabbitTemplate.send(RabbitMQConfig.EXCHANGE_NAME, event.getRoutingKey(), message, correlation);
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = MessagePropertiesBuilder.newInstance()
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(event.getId().toString())
+                .setHeader("__TypeId__", event.getTypeId())
+                .build();
+        if (event.getCreatedAt() != null) {
+            // Written in the order's transaction, so consumers can order by it instead of by arrival
+            properties.setHeader(EventContractMessageConverter.OCCURRED_AT_HEADER, event.getCreatedAt().toString());
+        }
+        if (binaryOrderPlaced && RabbitMQConfig.ORDER_PLACED_TYPE_ID.equals(event.getTypeId())) {
+            // The outbox keeps JSON so rows stay readable; the wire encoding is chosen here
+            try {
+                return messageConverter.toMessage(
+                        objectMapper.readValue(event.getPayload(), OrderPlacedEvent.class), properties);
+            } catch (JsonProcessingException | RuntimeException e) {
+                LOGGER.warn("Outbox event {} cannot be encoded as OrderPlacedEvent, sending it as JSON: {}",
+                        event.getId(), e.getMessage());
+            }
+        }
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .andProperties(properties)
+                .build();
+    }
+
+    private void flushConfirmed() {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = confirmed.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            outboxRepository.markPublished(ids, LocalDateTime.now());
+            ids.forEach(inFlight::remove);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Unable to mark {} outbox events as published: {}", ids.size(), e.getMessage());
+            confirmed.addAll(ids);
+        }
+    }
+}
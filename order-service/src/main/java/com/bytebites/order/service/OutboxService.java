@@ -0,0 +1,60 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.model.OutboxEvent;
+import com.bytebites.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Records integration events in the outbox table. Must be called inside the
+ * transaction that changes the aggregate so the event commits (or rolls back)
+ * together with it; {@link OutboxRelay} takes care of the actual publishing.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(Long aggregateId, String routingKey, String typeId, Object event) {
+        return outboxRepository.save(toOutboxEvent(aggregateId, routingKey, typeId, event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<OutboxEvent> enqueueAll(String routingKey, String typeId,
+                                            List<T> events, Function<T, Long> aggregateId) {
+        List<OutboxEvent> outboxEvents = events.stream()
+                .map(event -> toOutboxEvent(aggregateId.apply(event), routingKey, typeId, event))
+                .toList();
+        return outboxRepository.saveAll(outboxEvents);
+    }
+
+    private OutboxEvent toOutboxEvent(Long aggregateId, String routingKey, String typeId, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setRoutingKey(routingKey);
+        outboxEvent.setTypeId(typeId);
+        outboxEvent.setPayload(serialize(event));
+        return outboxEvent;
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bytebites.order.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the id sequences past the ids already in their tables at startup.
+ * Databases created while the tables used identity columns get the sequences
+ * from {@code ddl-auto: update} starting at 1, which would collide with
+ * existing primary keys. Runs once the schema is in place and before the web
+ * server takes requests; a sequence that is already ahead is left alone.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.sequence-alignment.enabled", havingValue = "true", matchIfMissing = true)
+public class SequenceAlignment implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequenceAlignment.class);
+
+    // Sequence -> table; the allocation size of every one of them is 50
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "orders_seq", "orders",
+            "order_items_seq", "order_items",
+            "order_outbox_seq", "order_outbox",
+            "order_idempotency_keys_seq", "order_idempotency_keys");
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAlignment(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String sequence, String table) {
+        // Hibernate hands out the block ending at the next value, so the sequence must
+        // be a full block past the highest id; HAVING skips empty tables
+        Long moved = jdbcTemplate.query(String.format(
+                        "SELECT setval('%1$s', MAX(id) + %3$d) FROM %2$s "
+                                + "HAVING MAX(id) >= (SELECT last_value FROM %1$s)",
+                        sequence, table, ALLOCATION_SIZE),
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (moved != null) {
+            LOGGER.info("Moved sequence {} to {}, past the existing ids in {}", sequence, moved, table);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+-- Order-service schema with orders range-partitioned by month on created_at.
+-- Used by the "partitioned" profile, where Hibernate does not manage the schema.
+-- Every statement is idempotent so it can run on each startup.
+
+-- Ids come from pooled Hibernate sequences (allocationSize = 50)
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id                   BIGINT         NOT NULL,
+    customer_id          BIGINT         NOT NULL,
+    restaurant_id        BIGINT         NOT NULL,
+    status               VARCHAR(255),
+    total_amount         NUMERIC(38, 2) NOT NULL,
+    delivery_address     VARCHAR(255),
+    special_instructions VARCHAR(255),
+    created_at           TIMESTAMP(6)   NOT NULL,
+    updated_at           TIMESTAMP(6),
+    version              BIGINT         NOT NULL DEFAULT 0,
+    -- The partition key must be part of the primary key
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Optimistic-locking version, for tables created before it existed
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Catches rows outside the monthly partitions created by OrderPartitionMaintenance
+CREATE TABLE IF NOT EXISTS orders_default PARTITION OF orders DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_created ON orders (restaurant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_id ON orders (id);
+-- Active-order snapshot for restaurant-service kitchen queues; only the few open orders are indexed
+CREATE INDEX IF NOT EXISTS idx_orders_active ON orders (created_at, id)
+    WHERE status IN ('PENDING', 'CONFIRMED', 'PREPARING', 'READY_FOR_DELIVERY');
+
+-- No foreign key to orders: a partitioned table cannot have a unique constraint on id alone
+CREATE TABLE IF NOT EXISTS order_items (
+    id           BIGINT PRIMARY KEY,
+    menu_item_id BIGINT,
+    name         VARCHAR(255)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    price        NUMERIC(38, 2) NOT NULL,
+    total_price  NUMERIC(38, 2) NOT NULL,
+    order_id     BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id           BIGINT PRIMARY KEY,
+    aggregate_id BIGINT       NOT NULL,
+    routing_key  VARCHAR(255) NOT NULL,
+    type_id      VARCHAR(255) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at    TIMESTAMP(6),
+    published_at  TIMESTAMP(6),
+    claimed_by    VARCHAR(64),
+    claimed_until TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    id              BIGINT PRIMARY KEY,
+    customer_id     BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    order_id        BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6),
+    CONSTRAINT uk_order_idempotency_customer_key UNIQUE (customer_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_idempotency_created ON order_idempotency_keys (created_at);
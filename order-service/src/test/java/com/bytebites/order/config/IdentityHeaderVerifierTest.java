@@ -0,0 +1,79 @@
+package com.bytebites.order.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityHeaderVerifierTest {
+
+    private static final String SECRET = "your-256-bit-secret-key-must-be-at-least-32-characters-long";
+
+    private final IdentityHeaderVerifier verifier = new IdentityHeaderVerifier(SECRET, true);
+
+    @Test
+    @DisplayName("Should accept identity headers signed by the gateway")
+    void shouldAcceptSignedHeaders() throws Exception {
+        long expires = Instant.now().plusSeconds(3600).getEpochSecond();
+
+        var principal = verifier.verify(request("42", "CUSTOMER,ADMIN", expires, sign("42", "CUSTOMER,ADMIN", expires)));
+
+        assertThat(principal).isPresent();
+        assertThat(principal.get().subject()).isEqualTo("42");
+        assertThat(principal.get().roles()).containsExactly("CUSTOMER", "ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should reject headers whose values were changed after signing")
+    void shouldRejectTamperedHeaders() throws Exception {
+        long expires = Instant.now().plusSeconds(3600).getEpochSecond();
+
+        var principal = verifier.verify(request("42", "ADMIN", expires, sign("42", "CUSTOMER", expires)));
+
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject expired identity headers")
+    void shouldRejectExpiredHeaders() throws Exception {
+        long expires = Instant.now().minusSeconds(1).getEpochSecond();
+
+        var principal = verifier.verify(request("42", "CUSTOMER", expires, sign("42", "CUSTOMER", expires)));
+
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore signed headers when trust is disabled")
+    void shouldIgnoreHeadersWhenDisabled() throws Exception {
+        long expires = Instant.now().plusSeconds(3600).getEpochSecond();
+        IdentityHeaderVerifier disabled = new IdentityHeaderVerifier(SECRET, false);
+
+        var principal = disabled.verify(request("42", "CUSTOMER", expires, sign("42", "CUSTOMER", expires)));
+
+        assertThat(principal).isEmpty();
+    }
+
+    private MockHttpServletRequest request(String user, String roles, long expires, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderVerifier.USER_HEADER, user);
+        request.addHeader(IdentityHeaderVerifier.ROLES_HEADER, roles);
+        request.addHeader(IdentityHeaderVerifier.EXPIRES_HEADER, String.valueOf(expires));
+        request.addHeader(IdentityHeaderVerifier.SIGNATURE_HEADER, signature);
+        return request;
+    }
+
+    private String sign(String user, String roles, long expires) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((user + "\n" + roles + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bytebites.order.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request authentication cost before and after pre-building the key and parser.
+ * Opt-in, run with {@code mvn test -Dtest=JwtVerifierBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerifierBenchmarkTest {
+
+    private static final String SECRET = "your-256-bit-secret-key-must-be-at-least-32-characters-long";
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private final String token = Jwts.builder()
+            .setSubject("42")
+            .claim("roles", "CUSTOMER")
+            .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+
+    @Test
+    @DisplayName("Pre-built verifier should be cheaper than per-request parser construction")
+    void compareVerificationCost() {
+        JwtVerifier verifier = new JwtVerifier(SECRET);
+
+        // Previous order-service filter: key and parser built for every request
+        double rebuildOnce = nanosPerCall(t -> parseWithNewParser(t));
+        // Previous restaurant-service filter: username, validity (username + expiry) and roles each re-parsed
+        double rebuildFourTimes = nanosPerCall(t -> {
+            for (int i = 0; i < 4; i++) {
+                parseWithNewParser(t);
+            }
+        });
+        double verifyOnce = nanosPerCall(verifier::verify);
+
+        System.out.printf("rebuild + parse: %.0f ns, 4x rebuild + parse: %.0f ns, pre-built verify: %.0f ns%n",
+                rebuildOnce, rebuildFourTimes, verifyOnce);
+        assertThat(verifyOnce).isLessThan(rebuildOnce);
+    }
+
+    private Claims parseWithNewParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private double nanosPerCall(Consumer<String> auth) {
+        for (int i = 0; i < WARMUP; i++) {
+            auth.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            auth.accept(token);
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+}
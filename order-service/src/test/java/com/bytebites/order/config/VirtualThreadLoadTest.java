@@ -0,0 +1,119 @@
+package com.bytebites.order.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares Tomcat on its default platform-thread pool with the virtual-threads
+ * profile at 2,000 concurrent connections against an endpoint that blocks the
+ * way a stalled Postgres or RabbitMQ call does. Opt-in and Java 21 only, run with
+ * {@code JAVA_HOME=<jdk21> mvn test -Dtest=VirtualThreadLoadTest -Dbenchmark=true}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = 2_000;
+    private static final int REQUESTS = 10_000;
+    private static final long STALL_MS = 100;
+
+    @Test
+    @DisplayName("Virtual threads should sustain more throughput when downstream calls stall")
+    void compareThreadModels() throws Exception {
+        double platform = run(false);
+        double virtual = run(true);
+
+        System.out.printf("platform threads: %.0f req/s, virtual threads: %.0f req/s (%.1fx) at %d connections%n",
+                platform, virtual, virtual / platform, CONCURRENCY);
+        assertThat(virtual).isGreaterThan(platform);
+    }
+
+    private double run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StalledBackend.class)
+                .run("--server.port=0",
+                        "--spring.config.name=virtual-thread-load-test",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.max-connections=" + (CONCURRENCY * 2),
+                        "--server.tomcat.accept-count=" + CONCURRENCY,
+                        "--logging.level.root=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/stalled");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+            fire(client, uri, CONCURRENCY); // warm up connections and JIT
+            long start = System.nanoTime();
+            fire(client, uri, REQUESTS);
+            return REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+    }
+
+    private void fire(HttpClient client, URI uri, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            responses[i] = client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+        assertThat(failures).hasValue(0);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class
+    })
+    @Import(StalledBackend.StalledController.class)
+    static class StalledBackend {
+
+        @RestController
+        static class StalledController {
+
+            @GetMapping("/stalled")
+            String stalled() throws InterruptedException {
+                // Stand-in for a JDBC or broker call that is waiting on the network
+                Thread.sleep(STALL_MS);
+                return "ok";
+            }
+        }
+    }
+}
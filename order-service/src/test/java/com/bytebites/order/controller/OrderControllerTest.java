@@ -1,19 +1,26 @@
 package com.bytebites.order.controller;
 
+import com.bytebites.order.dto.MenuItemPrice;
 import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.service.MenuPriceCatalog;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -27,6 +34,9 @@ class OrderControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockBean
+    private MenuPriceCatalog menuPriceCatalog;
+
     @Test
     @DisplayName("Should return 400 when request body is invalid")
     @WithMockUser(roles = "CUSTOMER")
@@ -43,9 +53,13 @@ class OrderControllerTest {
     @DisplayName("Should create order when request is valid")
     @WithMockUser(roles = "CUSTOMER")
     void shouldCreateOrderWhenValid() throws Exception {
+        when(menuPriceCatalog.getPrices(eq(1L), any()))
+                .thenReturn(Map.of(5L, new MenuItemPrice(5L, "Pizza", BigDecimal.valueOf(10.5), true)));
+
         OrderRequest request = new OrderRequest();
         request.setRestaurantId(1L);
         OrderRequest.OrderItemRequest item = new OrderRequest.OrderItemRequest();
+        item.setMenuItemId(5L);
         item.setName("Pizza");
         item.setPrice(BigDecimal.valueOf(10.5));
         item.setQuantity(2);
@@ -0,0 +1,146 @@
+package com.bytebites.order.dto;
+
+import com.bytebites.order.model.Order;
+import com.bytebites.order.model.OrderItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH comparison of serializing a 50-item order: the JPA entity as the endpoints
+ * used to return it, and the {@link OrderResponse} record as JSON with and without
+ * Blackbird, as Smile and as CBOR. Opt-in, run with
+ * {@code mvn test -Dtest=OrderSerializationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmarkTest {
+
+    private static final int ITEMS = 50;
+
+    private Order entity;
+    private OrderResponse response;
+    private ObjectWriter json;
+    private ObjectWriter blackbirdJson;
+    private ObjectWriter smile;
+    private ObjectWriter cbor;
+
+    @Setup
+    public void setUp() {
+        entity = order();
+        response = OrderResponse.from(entity, entity.getOrderItems());
+        json = configure(JsonMapper.builder().build());
+        blackbirdJson = configure(JsonMapper.builder().addModule(new BlackbirdModule()).build());
+        smile = configure(SmileMapper.builder().addModule(new BlackbirdModule()).build());
+        cbor = configure(CBORMapper.builder().addModule(new BlackbirdModule()).build());
+    }
+
+    @Benchmark
+    public byte[] entityJson() throws Exception {
+        return json.writeValueAsBytes(entity);
+    }
+
+    @Benchmark
+    public byte[] recordJson() throws Exception {
+        return json.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] recordJsonBlackbird() throws Exception {
+        return blackbirdJson.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] recordSmile() throws Exception {
+        return smile.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] recordCbor() throws Exception {
+        return cbor.writeValueAsBytes(response);
+    }
+
+    @Test
+    @DisplayName("Binary formats should be smaller than JSON for a 50-item order")
+    void compareSerialization() throws Exception {
+        setUp();
+        int jsonSize = recordJson().length;
+        int smileSize = recordSmile().length;
+        int cborSize = recordCbor().length;
+        System.out.printf("50-item order: entity JSON %d bytes, record JSON %d bytes, Smile %d bytes, CBOR %d bytes%n",
+                entityJson().length, jsonSize, smileSize, cborSize);
+        assertThat(smileSize).isLessThan(jsonSize);
+        assertThat(cborSize).isLessThan(jsonSize);
+
+        new Runner(new OptionsBuilder().include(getClass().getName() + "\\.").build()).run();
+    }
+
+    private static ObjectWriter configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setId(1_000_001L);
+        order.setCustomerId(42L);
+        order.setRestaurantId(7L);
+        order.setStatus(Order.OrderStatus.PREPARING);
+        order.setDeliveryAddress("221B Baker Street, London");
+        order.setSpecialInstructions("Ring twice");
+        List<OrderItem> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < ITEMS; i++) {
+            OrderItem item = new OrderItem();
+            item.setId(5_000_000L + i);
+            item.setMenuItemId(300L + i);
+            item.setName("Menu item " + i);
+            item.setQuantity(1 + i % 3);
+            item.setPrice(new BigDecimal("12.50"));
+            item.setTotalPrice(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            item.setOrder(order);
+            items.add(item);
+            total = total.add(item.getTotalPrice());
+        }
+        order.setOrderItems(items);
+        order.setTotalAmount(total);
+        ReflectionTestUtils.setField(order, "createdAt", LocalDateTime.of(2024, 1, 1, 12, 0));
+        ReflectionTestUtils.setField(order, "updatedAt", LocalDateTime.of(2024, 1, 1, 12, 5));
+        return order;
+    }
+}
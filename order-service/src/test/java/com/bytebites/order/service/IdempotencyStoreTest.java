@@ -0,0 +1,87 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.dto.OrderResponse;
+import com.bytebites.order.exception.DuplicateIdempotencyKeyException;
+import com.bytebites.order.exception.OrderValidationException;
+import com.bytebites.order.model.IdempotencyRecord;
+import com.bytebites.order.repository.IdempotencyRecordRepository;
+import com.bytebites.order.repository.OrderItemRepository;
+import com.bytebites.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private static final String KEY = "c0ffee";
+
+    private IdempotencyRecordRepository recordRepository;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(IdempotencyRecordRepository.class);
+        store = new IdempotencyStore(recordRepository, mock(OrderRepository.class), mock(OrderItemRepository.class),
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofHours(24), 100);
+    }
+
+    @Test
+    @DisplayName("Should replay a remembered response without touching the database")
+    void shouldReplayFromCache() {
+        OrderResponse response = response(11L);
+        store.remember(1L, KEY, request(2), response);
+
+        assertThat(store.findPrevious(1L, KEY, request(2))).contains(response);
+        assertThat(store.findPrevious(2L, KEY, request(2))).isEmpty();
+        verify(recordRepository, never()).findByCustomerIdAndIdempotencyKey(1L, KEY);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different order")
+    void shouldRejectDifferentRequest() {
+        store.remember(1L, KEY, request(2), response(11L));
+
+        assertThatThrownBy(() -> store.findPrevious(1L, KEY, request(3)))
+                .isInstanceOf(OrderValidationException.class)
+                .extracting("status").isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @DisplayName("Should turn a unique-key violation into a duplicate-key conflict")
+    void shouldReportDuplicateKey() {
+        when(recordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_order_idempotency_customer_key"));
+
+        assertThatThrownBy(() -> store.record(1L, KEY, request(2), 11L))
+                .isInstanceOf(DuplicateIdempotencyKeyException.class);
+    }
+
+    private OrderRequest request(int quantity) {
+        OrderRequest.OrderItemRequest item = new OrderRequest.OrderItemRequest();
+        item.setMenuItemId(5L);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setRestaurantId(3L);
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private OrderResponse response(Long orderId) {
+        return new OrderResponse(orderId, 1L, 3L, null, new BigDecimal("10.00"), null, null, List.of(), null, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.dto.MenuItemPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the per-order and the bulk ingestion paths. Opt-in, run with
+ * {@code mvn test -Dtest=OrderIngestionBenchmarkTest -Dbenchmark=true}.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.bytebites.order=INFO"
+})
+@Import({OrderService.class, OutboxService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderIngestionBenchmarkTest {
+
+    private static final int ORDER_COUNT = 5_000;
+    private static final int WARMUP_COUNT = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private MenuPriceCatalog menuPriceCatalog;
+
+    @BeforeEach
+    void setUp() {
+        // Every item costs its id; the near-cache is measured separately from ingestion
+        when(menuPriceCatalog.getPrices(anyLong(), any())).thenAnswer(invocation -> {
+            Collection<Long> itemIds = invocation.getArgument(1);
+            return itemIds.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> new MenuItemPrice(id, "Item " + id, BigDecimal.valueOf(id), true)));
+        });
+    }
+
+    @Test
+    @DisplayName("Bulk ingestion should outperform placing orders one by one")
+    void compareIngestionPaths() {
+        List<OrderRequest> warmup = requests(WARMUP_COUNT);
+        warmup.forEach(request -> orderService.createOrder(request, 1L, null));
+        orderService.createOrders(warmup, 1L);
+
+        List<OrderRequest> requests = requests(ORDER_COUNT);
+
+        long start = System.nanoTime();
+        requests.forEach(request -> orderService.createOrder(request, 1L, null));
+        double perOrder = ordersPerSecond(start);
+
+        start = System.nanoTime();
+        for (int from = 0; from < ORDER_COUNT; from += 500) {
+            orderService.createOrders(requests.subList(from, Math.min(from + 500, ORDER_COUNT)), 1L);
+        }
+        double bulk = ordersPerSecond(start);
+
+        System.out.printf("per-order: %.0f orders/s, bulk: %.0f orders/s (%.1fx)%n", perOrder, bulk, bulk / perOrder);
+        assertThat(bulk).isGreaterThan(perOrder);
+    }
+
+    private double ordersPerSecond(long start) {
+        return ORDER_COUNT / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private List<OrderRequest> requests(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            OrderRequest request = new OrderRequest();
+            request.setRestaurantId((long) (i % 50));
+            request.setItems(List.of(item(12L), item(6L), item(3L)));
+            request.setDeliveryAddress("123 Foodie Lane");
+            return request;
+        }).toList();
+    }
+
+    private OrderRequest.OrderItemRequest item(Long menuItemId) {
+        OrderRequest.OrderItemRequest item = new OrderRequest.OrderItemRequest();
+        item.setMenuItemId(menuItemId);
+        item.setQuantity(2);
+        return item;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.MenuItemPrice;
+import com.bytebites.order.dto.OrderRequest;
+import com.bytebites.order.exception.OrderValidationException;
+import com.bytebites.order.model.Order;
+import com.bytebites.order.repository.OrderItemRepository;
+import com.bytebites.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderServicePricingTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+
+    private OrderRepository orderRepository;
+    private MenuPriceCatalog menuPriceCatalog;
+    private PlatformTransactionManager transactionManager;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        menuPriceCatalog = mock(MenuPriceCatalog.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        orderService = new OrderService(orderRepository, mock(OrderItemRepository.class),
+                mock(OutboxService.class), menuPriceCatalog, mock(IdempotencyStore.class),
+                new TransactionTemplate(transactionManager));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(menuPriceCatalog.getPrices(eq(RESTAURANT_ID), any())).thenReturn(Map.of(
+                1L, new MenuItemPrice(1L, "Pizza", new BigDecimal("12.50"), true),
+                2L, new MenuItemPrice(2L, "Soda", new BigDecimal("2.00"), true),
+                3L, new MenuItemPrice(3L, "Tiramisu", new BigDecimal("6.00"), false)));
+    }
+
+    @Test
+    @DisplayName("Should price items from the menu in a single lookup")
+    void shouldUseMenuPrices() {
+        Order order = orderService.createOrder(request(item(1L, null, 2), item(2L, "2.0", 3)), 9L, null);
+
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("31.00");
+        assertThat(order.getOrderItems()).extracting("name").containsExactly("Pizza", "Soda");
+        verify(menuPriceCatalog).getPrices(RESTAURANT_ID, Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should look up prices before taking a connection for the order transaction")
+    void shouldResolvePricesBeforeTransaction() {
+        orderService.createOrder(request(item(1L, null, 1)), 9L, null);
+        orderService.createOrders(List.of(request(item(2L, null, 1))), 9L);
+
+        InOrder order = inOrder(menuPriceCatalog, transactionManager, orderRepository);
+        order.verify(menuPriceCatalog).getPrices(eq(RESTAURANT_ID), any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(orderRepository).save(any(Order.class));
+        order.verify(menuPriceCatalog).getPrices(eq(RESTAURANT_ID), any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(orderRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject an order when the client price no longer matches the menu")
+    void shouldRejectChangedPrice() {
+        assertThatThrownBy(() -> orderService.createOrder(request(item(1L, "9.99", 1)), 9L, null))
+                .isInstanceOf(OrderValidationException.class)
+                .extracting("status").isEqualTo(HttpStatus.CONFLICT);
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should reject items that are unknown or unavailable")
+    void shouldRejectUnknownAndUnavailableItems() {
+        assertThatThrownBy(() -> orderService.createOrder(request(item(99L, null, 1)), 9L, null))
+                .isInstanceOf(OrderValidationException.class)
+                .extracting("status").isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThatThrownBy(() -> orderService.createOrder(request(item(3L, null, 1)), 9L, null))
+                .isInstanceOf(OrderValidationException.class)
+                .extracting("status").isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @DisplayName("Should look up each restaurant once for a batch of orders")
+    void shouldLookUpEachRestaurantOnceForBatch() {
+        orderService.createOrders(List.of(request(item(1L, null, 1)), request(item(2L, null, 1))), 9L);
+
+        verify(menuPriceCatalog, times(1)).getPrices(RESTAURANT_ID, Set.of(1L, 2L));
+    }
+
+    private OrderRequest request(OrderRequest.OrderItemRequest... items) {
+        OrderRequest request = new OrderRequest();
+        request.setRestaurantId(RESTAURANT_ID);
+        request.setItems(List.of(items));
+        return request;
+    }
+
+    private OrderRequest.OrderItemRequest item(Long menuItemId, String price, int quantity) {
+        OrderRequest.OrderItemRequest item = new OrderRequest.OrderItemRequest();
+        item.setMenuItemId(menuItemId);
+        item.setPrice(price == null ? null : new BigDecimal(price));
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,128 @@
+package com.bytebites.order.service;
+
+import com.bytebites.order.dto.CursorPage;
+import com.bytebites.order.dto.OrderResponse;
+import com.bytebites.order.model.Order;
+import com.bytebites.order.model.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(OrderService.class)
+class OrderServiceQueryCountTest {
+
+    private static final Long RESTAURANT_ID = 7L;
+    private static final int ORDER_COUNT = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private MenuPriceCatalog menuPriceCatalog;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            entityManager.persist(order(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list 500 orders with their items in two queries")
+    void shouldListOrdersWithBoundedQueries() {
+        CursorPage<OrderResponse> page = orderService.getRestaurantOrders(RESTAURANT_ID, null, ORDER_COUNT);
+
+        assertThat(page.items()).hasSize(ORDER_COUNT);
+        assertThat(page.items()).allSatisfy(order -> assertThat(order.orderItems()).hasSize(2));
+        assertThat(page.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should walk every order exactly once, newest first, when following the cursor")
+    void shouldPageThroughOrdersWithCursor() {
+        List<OrderResponse> walked = new ArrayList<>();
+        CursorPage<OrderResponse> page = orderService.getRestaurantOrders(RESTAURANT_ID, null, 64);
+        walked.addAll(page.items());
+        while (page.hasNext()) {
+            page = orderService.getRestaurantOrders(RESTAURANT_ID, page.nextCursor(), 64);
+            walked.addAll(page.items());
+        }
+
+        assertThat(walked).hasSize(ORDER_COUNT);
+        assertThat(walked).extracting(OrderResponse::id).doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(OrderResponse::createdAt)
+                .thenComparing(OrderResponse::id).reversed());
+    }
+
+    @Test
+    @DisplayName("Should stream 500 orders with their items in two queries")
+    void shouldStreamOrdersWithBoundedQueries() {
+        List<OrderResponse> streamed = new ArrayList<>();
+
+        orderService.streamRestaurantOrders(RESTAURANT_ID, streamed::add);
+
+        assertThat(streamed).hasSize(ORDER_COUNT);
+        assertThat(streamed).allSatisfy(order -> assertThat(order.orderItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Order order(int index) {
+        Order order = new Order();
+        order.setCustomerId((long) (index % 20));
+        order.setRestaurantId(RESTAURANT_ID);
+        order.setTotalAmount(BigDecimal.valueOf(25));
+        order.setOrderItems(List.of(item(order, "Pizza", 10), item(order, "Soda", 5)));
+        return order;
+    }
+
+    private OrderItem item(Order order, String name, int price) {
+        OrderItem item = new OrderItem();
+        item.setName(name);
+        item.setQuantity(1);
+        item.setPrice(BigDecimal.valueOf(price));
+        item.setTotalPrice(BigDecimal.valueOf(price));
+        item.setOrder(order);
+        return item;
+    }
+}
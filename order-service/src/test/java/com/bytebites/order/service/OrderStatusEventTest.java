@@ -0,0 +1,112 @@
+package com.bytebites.order.service;
+
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.order.config.RabbitMQConfig;
+import com.bytebites.order.dto.OrderStatusTransition;
+import com.bytebites.order.exception.OrderValidationException;
+import com.bytebites.order.model.Order;
+import com.bytebites.order.repository.OrderItemRepository;
+import com.bytebites.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderStatusEventTest {
+
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private OrderRepository orderRepository;
+    private OutboxService outboxService;
+    private OrderService orderService;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        outboxService = mock(OutboxService.class);
+        orderService = new OrderService(orderRepository, mock(OrderItemRepository.class),
+                outboxService, mock(MenuPriceCatalog.class), mock(IdempotencyStore.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        order = new Order();
+        order.setId(7L);
+        order.setCustomerId(1L);
+        order.setRestaurantId(3L);
+        order.setStatus(Order.OrderStatus.CONFIRMED);
+        when(orderRepository.transitionStatus(anyLong(), anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(orderRepository.findByIdAndRestaurantId(7L, 3L)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("Should queue an order.status.changed event with the status change")
+    void shouldPublishStatusChange() {
+        when(orderRepository.transitionStatus(7L, 3L, Order.OrderStatus.PREPARING, null))
+                .thenReturn(Optional.of(new OrderStatusTransition(7L, 1L, 3L, Order.OrderStatus.CONFIRMED,
+                        Order.OrderStatus.PREPARING, new BigDecimal("20.00"), 1, CHANGED_AT)));
+
+        orderService.updateOrderStatus(7L, Order.OrderStatus.PREPARING, 3L, null);
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(outboxService).enqueue(eq(7L), eq(RabbitMQConfig.ORDER_STATUS_CHANGED_ROUTING_KEY),
+                eq(RabbitMQConfig.ORDER_STATUS_CHANGED_TYPE_ID), event.capture());
+        assertThat(event.getValue()).isEqualTo(new OrderStatusChangedEvent(
+                7L, 1L, 3L, "CONFIRMED", "PREPARING", CHANGED_AT));
+        // The happy path is the single UPDATE, with no read before it
+        verify(orderRepository, never()).findByIdAndRestaurantId(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when the status does not change")
+    void shouldSkipUnchangedStatus() {
+        Optional<OrderStatusTransition> result =
+                orderService.updateOrderStatus(7L, Order.OrderStatus.CONFIRMED, 3L, null);
+
+        assertThat(result).get().extracting(OrderStatusTransition::changed).isEqualTo(false);
+        verify(outboxService, never()).enqueue(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a transition the state machine does not allow")
+    void shouldRejectInvalidTransition() {
+        assertThatThrownBy(() -> orderService.updateOrderStatus(7L, Order.OrderStatus.DELIVERED, 3L, null))
+                .isInstanceOf(OrderValidationException.class)
+                .hasMessageContaining("cannot move from CONFIRMED to DELIVERED")
+                .extracting("status").isEqualTo(HttpStatus.CONFLICT);
+        verify(outboxService, never()).enqueue(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the expected version is stale")
+    void shouldRejectStaleVersion() {
+        assertThatThrownBy(() -> orderService.updateOrderStatus(7L, Order.OrderStatus.PREPARING, 3L, 5L))
+                .isInstanceOf(OrderValidationException.class)
+                .hasMessageContaining("modified concurrently")
+                .extracting("status").isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Should allow only forward transitions and cancellation before dispatch")
+    void shouldDefineStateMachine() {
+        assertThat(Order.OrderStatus.PENDING.canTransitionTo(Order.OrderStatus.CONFIRMED)).isTrue();
+        assertThat(Order.OrderStatus.PREPARING.canTransitionTo(Order.OrderStatus.CANCELLED)).isTrue();
+        assertThat(Order.OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(Order.OrderStatus.CANCELLED)).isFalse();
+        assertThat(Order.OrderStatus.DELIVERED.canTransitionTo(Order.OrderStatus.PENDING)).isFalse();
+        assertThat(Order.OrderStatus.PENDING.sources()).isEmpty();
+    }
+}
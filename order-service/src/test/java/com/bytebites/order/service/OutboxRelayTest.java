@@ -0,0 +1,167 @@
+package com.bytebites.order.service;
+
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.codec.OrderPlacedEventCodec;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.order.config.RabbitMQConfig;
+import com.bytebites.order.model.OutboxEvent;
+import com.bytebites.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxRepository;
+    private RabbitTemplate rabbitTemplate;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxEventRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        relay = new OutboxRelay(outboxRepository, rabbitTemplate,
+                new EventContractMessageConverter(new Jackson2JsonMessageConverter(), true), new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "lease", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should mark events as published once the broker acks them")
+    void shouldMarkAckedEventsAsPublished() {
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        ArgumentCaptor<CorrelationData> correlations = ArgumentCaptor.forClass(CorrelationData.class);
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(2)).send(eq(RabbitMQConfig.EXCHANGE_NAME), eq("order.placed"),
+                messages.capture(), correlations.capture());
+        assertThat(messages.getValue().getMessageProperties().getMessageId()).isEqualTo("2");
+        assertThat(messages.getValue().getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo("order.placed");
+        assertThat(messages.getValue().getMessageProperties().<String>getHeader(
+                EventContractMessageConverter.OCCURRED_AT_HEADER)).isEqualTo("2024-05-01T12:00:02");
+
+        correlations.getAllValues().forEach(c -> c.getFuture().complete(new CorrelationData.Confirm(true, null)));
+        relay.relay();
+
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    @DisplayName("Should lease the claimed rows to this instance before sending them")
+    void shouldLeaseClaimedRows() {
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class))).thenReturn(List.of(event(1L), event(2L)));
+        LocalDateTime before = LocalDateTime.now();
+
+        relay.relay();
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        var order = inOrder(outboxRepository, rabbitTemplate);
+        order.verify(outboxRepository).findClaimable(any(), owner.capture(), any(Pageable.class));
+        order.verify(outboxRepository).claim(eq(List.of(1L, 2L)), eq(owner.getValue()), until.capture());
+        order.verify(rabbitTemplate, times(2)).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        assertThat(until.getValue()).isAfterOrEqualTo(before.plusSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should not claim or resend events that are still awaiting a confirm")
+    void shouldSkipEventsAwaitingConfirm() {
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class))).thenReturn(List.of(event(1L), event(2L)));
+
+        relay.relay();
+        relay.relay();
+
+        verify(rabbitTemplate, times(2)).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        verify(outboxRepository, times(1)).claim(anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should resend events that the broker nacks")
+    void shouldResendNackedEvents() {
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class))).thenReturn(List.of(event(1L)));
+
+        relay.relay();
+
+        ArgumentCaptor<CorrelationData> correlation = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate).send(any(), any(), any(Message.class), correlation.capture());
+        correlation.getValue().getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+
+        relay.relay();
+
+        verify(rabbitTemplate, times(2)).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        verify(outboxRepository, never()).markPublished(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop the batch and retry later when the broker is unreachable")
+    void shouldStopBatchWhenBrokerIsDown() {
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class))).thenReturn(List.of(event(1L), event(2L)));
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+        relay.relay();
+
+        verify(rabbitTemplate, times(2)).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        verify(outboxRepository, times(2)).findClaimable(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should send order.placed in the binary contract encoding when enabled")
+    void shouldSendBinaryOrderPlaced() {
+        ReflectionTestUtils.setField(relay, "binaryOrderPlaced", true);
+        OutboxEvent event = event(1L);
+        event.setPayload("{\"orderId\":101,\"customerId\":9,\"restaurantId\":3,"
+                + "\"items\":[{\"name\":\"Pizza\",\"quantity\":2,\"price\":12.50}],\"totalAmount\":25.00}");
+        when(outboxRepository.findClaimable(any(), any(), any(Pageable.class))).thenReturn(List.of(event));
+
+        relay.relay();
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(any(), any(), message.capture(), any(CorrelationData.class));
+        assertThat(message.getValue().getMessageProperties().getContentType())
+                .isEqualTo(OrderPlacedEventCodec.contentType(OrderPlacedEventCodec.CURRENT_VERSION));
+        assertThat(message.getValue().getMessageProperties().getMessageId()).isEqualTo("1");
+        assertThat(new OrderPlacedEventCodec().decode(message.getValue().getBody(), 1)).isEqualTo(new OrderPlacedEvent(
+                101L, 9L, 3L, List.of(new OrderPlacedEvent.OrderItemData("Pizza", 2, new BigDecimal("12.50"))),
+                new BigDecimal("25.00")));
+    }
+
+    private OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateId(100L + id);
+        event.setRoutingKey(RabbitMQConfig.ORDER_PLACED_ROUTING_KEY);
+        event.setTypeId(RabbitMQConfig.ORDER_PLACED_TYPE_ID);
+        event.setPayload("{\"orderId\":" + (100L + id) + "}");
+        ReflectionTestUtils.setField(event, "createdAt", LocalDateTime.of(2024, 5, 1, 12, 0, id.intValue()));
+        return event;
+    }
+}
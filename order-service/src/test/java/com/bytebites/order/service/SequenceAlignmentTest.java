@@ -0,0 +1,53 @@
+package com.bytebites.order.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SequenceAlignmentTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SequenceAlignment alignment;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        alignment = new SequenceAlignment(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should move every id sequence past the ids of its table on Postgres")
+    void shouldAlignEverySequenceOnPostgres() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        alignment.afterSingletonsInstantiated();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(4)).query(sql.capture(), any(ResultSetExtractor.class));
+        assertThat(sql.getAllValues()).contains(
+                "SELECT setval('orders_seq', MAX(id) + 50) FROM orders "
+                        + "HAVING MAX(id) >= (SELECT last_value FROM orders_seq)");
+        assertThat(sql.getAllValues()).anyMatch(q -> q.contains("setval('order_items_seq'") && q.contains("FROM order_items "))
+                .anyMatch(q -> q.contains("setval('order_outbox_seq'") && q.contains("FROM order_outbox "))
+                .anyMatch(q -> q.contains("setval('order_idempotency_keys_seq'"));
+    }
+
+    @Test
+    @DisplayName("Should leave other databases alone")
+    void shouldSkipOtherDatabases() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        alignment.afterSingletonsInstantiated();
+
+        verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class));
+    }
+}
@@ -1,22 +1,53 @@
 package com.bytebites.restaurant.config;
 
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.deadletter.DeadLetterConfig;
+import com.bytebites.contracts.deadletter.ManagedQueues;
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.contracts.event.RestaurantUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.DefaultClassMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
+import java.util.Map;
+
+// The dead-letter endpoints are admin-only, see SecurityConfig
 @Configuration
+@Import(DeadLetterConfig.class)
 public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "bytebites-exchange";
     public static final String QUEUE_NAME = "restaurant-service-queue";
     public static final String ROUTING_KEY = "order.placed";
+    public static final String ORDER_STATUS_CHANGED_ROUTING_KEY = "order.status.changed";
+    public static final String MENU_UPDATED_ROUTING_KEY = "menu.updated";
+    public static final String RESTAURANT_UPDATED_ROUTING_KEY = "restaurant.updated";
+    // Type ids shared with the other services' class mappings
+    public static final String ORDER_PLACED_TYPE_ID = "order.placed";
+    public static final String ORDER_STATUS_CHANGED_TYPE_ID = "order.status.changed";
+    public static final String MENU_UPDATED_TYPE_ID = "menu.updated";
+    public static final String RESTAURANT_UPDATED_TYPE_ID = "restaurant.updated";
+
+    @Bean
+    public Queue queue(@Value("${messaging.dead-letters.max-length:100000}") long maxLength) {
+        return DeadLetterConfig.workQueue(QUEUE_NAME, maxLength).build();
+    }
 
     @Bean
-    public Queue queue() {
-        return new Queue(QUEUE_NAME, true);
+    public ManagedQueues managedQueues() {
+        return ManagedQueues.of(QUEUE_NAME);
     }
 
     @Bean
@@ -28,4 +59,46 @@ public class RabbitMQConfig {
     public Binding binding(Queue queue, TopicExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
     }
+
+    // Every instance needs every menu event, so each one gets its own auto-deleted queue
+    @Bean
+    public Queue menuUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding menuUpdatesBinding(Queue menuUpdatesQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(menuUpdatesQueue).to(exchange).with(MENU_UPDATED_ROUTING_KEY);
+    }
+
+    // Each instance projects every restaurant's kitchen queue, so it needs all order events
+    @Bean
+    public Queue kitchenEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding kitchenOrderPlacedBinding(Queue kitchenEventsQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(kitchenEventsQueue).to(exchange).with(ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding kitchenStatusChangedBinding(Queue kitchenEventsQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(kitchenEventsQueue).to(exchange).with(ORDER_STATUS_CHANGED_ROUTING_KEY);
+    }
+
+    // Reads order.placed in JSON or in the shared binary encoding, by content type
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        DefaultClassMapper classMapper = new DefaultClassMapper();
+        classMapper.setIdClassMapping(Map.of(
+                ORDER_PLACED_TYPE_ID, OrderPlacedEvent.class,
+                ORDER_STATUS_CHANGED_TYPE_ID, OrderStatusChangedEvent.class,
+                MENU_UPDATED_TYPE_ID, MenuUpdatedEvent.class,
+                RESTAURANT_UPDATED_TYPE_ID, RestaurantUpdatedEvent.class));
+        classMapper.setTrustedPackages("com.bytebites.contracts.event");
+        converter.setClassMapper(classMapper);
+        return new EventContractMessageConverter(converter, false);
+    }
 }
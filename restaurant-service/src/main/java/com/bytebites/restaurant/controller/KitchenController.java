@@ -0,0 +1,51 @@
+package com.bytebites.restaurant.controller;
+
+import com.bytebites.restaurant.dto.KitchenTicket;
+import com.bytebites.restaurant.repository.RestaurantRepository;
+import com.bytebites.restaurant.service.KitchenQueueProjection;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/kitchen")
+@Tag(name = "Kitchen", description = "Live kitchen queue APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class KitchenController {
+
+    private final KitchenQueueProjection projection;
+    private final RestaurantRepository restaurantRepository;
+
+    public KitchenController(KitchenQueueProjection projection, RestaurantRepository restaurantRepository) {
+        this.projection = projection;
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_RESTAURANT_OWNER')")
+    @Operation(summary = "Get the open orders of a restaurant, oldest first (Owner only)")
+    public ResponseEntity<List<KitchenTicket>> getKitchenQueue(@PathVariable Long restaurantId) {
+        String ownerId = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (restaurantRepository.findByIdAndOwnerId(restaurantId, ownerId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!projection.isLoaded()) {
+            // An empty queue would look like a quiet kitchen rather than one still loading
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(projection.getQueue(restaurantId));
+    }
+}
@@ -0,0 +1,104 @@
+package com.bytebites.restaurant.controller;
+
+import com.bytebites.restaurant.dto.MenuItemRequest;
+import com.bytebites.restaurant.dto.MenuItemResponse;
+import com.bytebites.restaurant.dto.MenuSnapshot;
+import com.bytebites.restaurant.service.MenuService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/menu")
+@Tag(name = "Menus", description = "Restaurant menu APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class MenuController {
+
+    private final MenuService menuService;
+
+    public MenuController(MenuService menuService) {
+        this.menuService = menuService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the menu of a restaurant (supports If-None-Match)")
+    public ResponseEntity<List<MenuItemResponse>> getMenu(@PathVariable Long restaurantId, WebRequest request) {
+        Optional<MenuSnapshot> menu = menuService.getMenu(restaurantId);
+        if (menu.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Clients may keep the menu but must revalidate it; unchanged menus cost a 304
+        if (request.checkNotModified(menu.get().etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(menu.get().etag())
+                .cacheControl(CacheControl.noCache())
+                .body(menu.get().items());
+    }
+
+    @GetMapping("/items")
+    @Operation(summary = "Get selected menu items of a restaurant in one call")
+    public ResponseEntity<List<MenuItemResponse>> getMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam List<Long> ids) {
+        return menuService.getMenuItems(restaurantId, ids)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ROLE_RESTAURANT_OWNER')")
+    @Operation(summary = "Add a menu item (Owner only)")
+    public ResponseEntity<MenuItemResponse> addMenuItem(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody MenuItemRequest request) {
+
+        String ownerId = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        return menuService.addMenuItem(restaurantId, request, ownerId)
+                .map(item -> ResponseEntity.status(HttpStatus.CREATED).body(item))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{itemId}")
+    @PreAuthorize("hasAuthority('ROLE_RESTAURANT_OWNER')")
+    @Operation(summary = "Update a menu item (Owner only)")
+    public ResponseEntity<MenuItemResponse> updateMenuItem(
+            @PathVariable Long restaurantId,
+            @PathVariable Long itemId,
+            @Valid @RequestBody MenuItemRequest request) {
+
+        String ownerId = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        return menuService.updateMenuItem(restaurantId, itemId, request, ownerId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{itemId}")
+    @PreAuthorize("hasAuthority('ROLE_RESTAURANT_OWNER')")
+    @Operation(summary = "Delete a menu item (Owner only)")
+    public ResponseEntity<Void> deleteMenuItem(
+            @PathVariable Long restaurantId,
+            @PathVariable Long itemId) {
+
+        String ownerId = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        return menuService.deleteMenuItem(restaurantId, itemId, ownerId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.bytebites.restaurant.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An open order as shown on a restaurant's kitchen dashboard.
+ *
+ * @param updatedAt time of the last status change known for the order, or {@code null}
+ *                  if only the placed event has been seen
+ */
+public record KitchenTicket(
+        Long orderId,
+        Long restaurantId,
+        Long customerId,
+        String status,
+        List<Item> items,
+        BigDecimal totalAmount,
+        LocalDateTime placedAt,
+        LocalDateTime updatedAt
+) {
+
+    public KitchenTicket {
+        items = items == null ? List.of() : List.copyOf(items);
+    }
+
+    public record Item(String name, Integer quantity) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.bytebites.restaurant.dto;
+
+import com.bytebites.restaurant.model.MenuItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MenuItemResponse(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        String category,
+        boolean available,
+        LocalDateTime updatedAt) {
+
+    public static MenuItemResponse from(MenuItem item) {
+        return new MenuItemResponse(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getPrice(),
+                item.getCategory(),
+                item.isAvailable(),
+                item.getUpdatedAt());
+    }
+}
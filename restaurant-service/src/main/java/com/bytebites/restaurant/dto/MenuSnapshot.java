@@ -0,0 +1,22 @@
+package com.bytebites.restaurant.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Immutable view of a restaurant's menu as held in the menu cache. The ETag is
+ * computed once when the snapshot is built, so conditional reads cost nothing.
+ */
+public record MenuSnapshot(Long restaurantId, List<MenuItemResponse> items, String etag) {
+
+    public MenuSnapshot {
+        items = List.copyOf(items);
+    }
+
+    public static MenuSnapshot of(Long restaurantId, List<MenuItemResponse> items) {
+        String digest = DigestUtils.md5DigestAsHex(items.toString().getBytes(StandardCharsets.UTF_8));
+        return new MenuSnapshot(restaurantId, items, "\"" + digest + "\"");
+    }
+}
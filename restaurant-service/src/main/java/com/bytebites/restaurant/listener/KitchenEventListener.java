@@ -0,0 +1,62 @@
+package com.bytebites.restaurant.listener;
+
+import com.bytebites.contracts.amqp.EventContractMessageConverter;
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.restaurant.service.KitchenQueueProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Feeds order events into the kitchen queue projection. Starts only once the
+ * snapshot has been loaded, so the events that arrived meanwhile wait in the
+ * queue and are replayed on top of it.
+ */
+@Component
+@RabbitListener(id = KitchenEventListener.LISTENER_ID, queues = "#{kitchenEventsQueue.name}", autoStartup = "false")
+public class KitchenEventListener {
+
+    public static final String LISTENER_ID = "kitchenProjection";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KitchenEventListener.class);
+
+    private final KitchenQueueProjection projection;
+
+    public KitchenEventListener(KitchenQueueProjection projection) {
+        this.projection = projection;
+    }
+
+    @RabbitHandler
+    public void handleOrderPlaced(OrderPlacedEvent event,
+                                  @Header(name = EventContractMessageConverter.OCCURRED_AT_HEADER, required = false)
+                                  String occurredAt) {
+        LOGGER.debug("Kitchen queue of restaurant {}: order {} placed", event.restaurantId(), event.orderId());
+        projection.onOrderPlaced(event, parse(occurredAt));
+    }
+
+    @RabbitHandler
+    public void handleStatusChanged(OrderStatusChangedEvent event) {
+        LOGGER.debug("Kitchen queue of restaurant {}: order {} is now {}",
+                event.restaurantId(), event.orderId(), event.status());
+        projection.onStatusChanged(event);
+    }
+
+    private static LocalDateTime parse(String occurredAt) {
+        if (occurredAt == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(occurredAt);
+        } catch (DateTimeParseException e) {
+            LOGGER.warn("Ignoring malformed {} header: {}", EventContractMessageConverter.OCCURRED_AT_HEADER, occurredAt);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bytebites.restaurant.listener;
+
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.restaurant.service.MenuService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the menu caches of all restaurant-service instances in step:
+ * the instance that made the change has already evicted its own entry.
+ */
+@Component
+public class MenuEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MenuEventListener.class);
+
+    private final MenuService menuService;
+
+    public MenuEventListener(MenuService menuService) {
+        this.menuService = menuService;
+    }
+
+    @RabbitListener(queues = "#{menuUpdatesQueue.name}")
+    public void handleMenuUpdated(MenuUpdatedEvent event) {
+        LOGGER.debug("Menu of restaurant {} changed, evicting cached copy", event.restaurantId());
+        menuService.evict(event.restaurantId());
+    }
+}
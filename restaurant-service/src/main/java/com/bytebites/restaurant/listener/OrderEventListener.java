@@ -1,7 +1,7 @@
 package com.bytebites.restaurant.listener;
 
+import com.bytebites.contracts.event.OrderPlacedEvent;
 import com.bytebites.restaurant.config.RabbitMQConfig;
-import com.bytebites.restaurant.event.OrderPlacedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -1,5 +1,6 @@
 package com.bytebites.restaurant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
@@ -31,6 +32,8 @@ public class Restaurant {
 
     private boolean active = true;
 
+    // Served by /api/restaurants/{id}/menu; serializing it here would loop back through MenuItem.restaurant
+    @JsonIgnore
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<MenuItem> menuItems = new ArrayList<>();
 
@@ -0,0 +1,16 @@
+package com.bytebites.restaurant.repository;
+
+import com.bytebites.restaurant.model.MenuItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+
+    List<MenuItem> findByRestaurantIdOrderByCategoryAscNameAscIdAsc(Long restaurantId);
+
+    Optional<MenuItem> findByIdAndRestaurantId(Long id, Long restaurantId);
+}
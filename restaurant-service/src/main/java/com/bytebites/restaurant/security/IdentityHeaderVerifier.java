@@ -0,0 +1,108 @@
+package com.bytebites.restaurant.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Accepts the identity headers the API gateway signs after verifying the bearer
+ * token, so the token is not parsed again here. The signature is an HMAC-SHA256
+ * over {@code subject + "\n" + roles + "\n" + expiresEpochSeconds}.
+ */
+@Component
+public class IdentityHeaderVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityHeaderVerifier.class);
+
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final boolean enabled;
+
+    public IdentityHeaderVerifier(@Value("${identity.header-secret:${jwt.secret}}") String secret,
+                                  @Value("${identity.trust-gateway-headers:true}") boolean enabled) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the forwarded identity if the headers are present, correctly signed
+     * and not expired; otherwise empty so the caller falls back to the JWT.
+     */
+    public Optional<JwtPrincipal> verify(HttpServletRequest request) {
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        String username = request.getHeader(USER_HEADER);
+        String roles = request.getHeader(ROLES_HEADER);
+        String expires = request.getHeader(EXPIRES_HEADER);
+        if (!enabled || signature == null || username == null || roles == null || expires == null) {
+            return Optional.empty();
+        }
+
+        try {
+            long expiresEpochSeconds = Long.parseLong(expires);
+            byte[] expected = sign(username + "\n" + roles + "\n" + expiresEpochSeconds);
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature))) {
+                log.warn("Rejected identity headers with an invalid signature for user: {}", username);
+                return Optional.empty();
+            }
+
+            List<String> roleList = Arrays.stream(roles.split(","))
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .toList();
+            JwtPrincipal principal = new JwtPrincipal(username, roleList, new Date(expiresEpochSeconds * 1000));
+            return principal.isExpired() ? Optional.empty() : Optional.of(principal);
+        } catch (IllegalArgumentException e) {
+            // Covers both a non-numeric expiry and a signature that is not base64url
+            log.debug("Malformed identity headers: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Signs identity headers for a call from this service to another one, which
+     * checks them the same way it checks headers forwarded by the gateway.
+     */
+    public Map<String, String> signedHeaders(String subject, List<String> roles, Duration ttl) {
+        String roleList = String.join(",", roles);
+        long expiresEpochSeconds = Instant.now().plus(ttl).getEpochSecond();
+        String signature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sign(subject + "\n" + roleList + "\n" + expiresEpochSeconds));
+        return Map.of(
+                USER_HEADER, subject,
+                ROLES_HEADER, roleList,
+                EXPIRES_HEADER, Long.toString(expiresEpochSeconds),
+                SIGNATURE_HEADER, signature);
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign identity headers", e);
+        }
+    }
+}
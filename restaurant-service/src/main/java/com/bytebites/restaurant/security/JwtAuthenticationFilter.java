@@ -32,10 +32,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   IdentityHeaderVerifier identityHeaderVerifier) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.identityHeaderVerifier = identityHeaderVerifier;
     }
 
 
@@ -47,23 +50,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // Requests routed through the gateway carry an already verified, signed identity
+        final JwtPrincipal forwarded = identityHeaderVerifier.verify(request).orElse(null);
         final String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (forwarded == null && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        final String jwt = authHeader.substring(7);
-
         try {
-            final String username = jwtService.extractUsername(jwt);
+            // Parse the token once; signature, username, expiry and roles all come from this result
+            final JwtPrincipal principal = forwarded != null ? forwarded : jwtService.parse(authHeader.substring(7));
+            final String username = principal.username();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    List<String> roles = jwtService.extractRoles(jwt);
+                if (jwtService.isTokenValid(principal, userDetails)) {
+                    List<String> roles = principal.roles();
                     log.debug("Extracted roles from JWT for user '{}': {}", username, roles);
 
                     List<SimpleGrantedAuthority> authorities = roles.stream()
@@ -0,0 +1,18 @@
+package com.bytebites.restaurant.security;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Identity carried by a verified JWT, parsed once per request by {@link JwtService}.
+ */
+public record JwtPrincipal(String username, List<String> roles, Date expiration) {
+
+    public JwtPrincipal {
+        roles = List.copyOf(roles);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
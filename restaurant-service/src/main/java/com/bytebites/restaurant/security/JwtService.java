@@ -1,26 +1,37 @@
 package com.bytebites.restaurant.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Built once: the key derivation and parser construction are the expensive part of verification
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours by default
-    private long jwtExpirationMs;
+    public JwtService(@Value("${jwt.secret}") String secretKey) {
+        this.parser = Jwts
+                .parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .build();
+    }
+
+    /**
+     * Verifies the token and extracts everything the filter needs in a single parse.
+     */
+    public JwtPrincipal parse(String token) {
+        final Claims claims = extractAllClaims(token);
+        return new JwtPrincipal(claims.getSubject(), extractRoles(claims), claims.getExpiration());
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -31,9 +42,20 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        final Claims claims = extractAllClaims(token);
+        return extractRoles(extractAllClaims(token));
+    }
+
+    public boolean isTokenValid(JwtPrincipal principal, UserDetails userDetails) {
+        return principal.username().equals(userDetails.getUsername()) && !principal.isExpired();
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parse(token), userDetails);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> extractRoles(Claims claims) {
         Object roles = claims.get("roles");
 
         if (roles instanceof List) {
@@ -46,30 +68,9 @@ public class JwtService {
         return Collections.emptyList();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
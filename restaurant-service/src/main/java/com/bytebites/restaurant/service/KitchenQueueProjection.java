@@ -0,0 +1,145 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.restaurant.dto.KitchenTicket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory kitchen queue of every restaurant: the orders that are placed but
+ * not yet out for delivery, built from {@code order.placed} and
+ * {@code order.status.changed} events on top of a snapshot from order-service.
+ * <p>
+ * Events may arrive twice or out of order, and may overlap the snapshot. A
+ * ticket is therefore only replaced by a newer status change, and orders that
+ * left the kitchen are remembered for a while so late events cannot reopen them.
+ */
+@Service
+public class KitchenQueueProjection {
+
+    static final Set<String> ACTIVE_STATUSES = Set.of("PENDING", "CONFIRMED", "PREPARING", "READY_FOR_DELIVERY");
+
+    private static final Comparator<KitchenTicket> QUEUE_ORDER = Comparator
+            .comparing(KitchenTicket::placedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(KitchenTicket::orderId);
+
+    private final Map<Long, Map<Long, KitchenTicket>> queues = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Order id -> time of the change that closed it
+    private final Cache<Long, LocalDateTime> closedOrders;
+
+    public KitchenQueueProjection(MeterRegistry meterRegistry,
+                                  @Value("${kitchen.closed-order-retention:1h}") Duration closedOrderRetention) {
+        this.closedOrders = Caffeine.newBuilder()
+                .expireAfterWrite(closedOrderRetention)
+                .maximumSize(1_000_000)
+                .build();
+        Gauge.builder("kitchen.queue.orders", queues,
+                        q -> q.values().stream().mapToInt(Map::size).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the order-service snapshot has been applied; until then the queues are incomplete.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Returns the open orders of a restaurant, oldest first.
+     */
+    public List<KitchenTicket> getQueue(Long restaurantId) {
+        Map<Long, KitchenTicket> queue = queues.get(restaurantId);
+        return queue == null ? List.of() : queue.values().stream().sorted(QUEUE_ORDER).toList();
+    }
+
+    /**
+     * Adds a placed order.
+     *
+     * @param placedAt when order-service wrote the event; {@code null} for producers that
+     *                 do not stamp it, in which case the time of arrival stands in
+     */
+    public void onOrderPlaced(OrderPlacedEvent event, LocalDateTime placedAt) {
+        List<KitchenTicket.Item> items = event.items() == null ? List.of() : event.items().stream()
+                .map(item -> new KitchenTicket.Item(item.name(), item.quantity()))
+                .toList();
+        apply(new KitchenTicket(event.orderId(), event.restaurantId(), event.customerId(), "PENDING",
+                items, event.totalAmount(), placedAt != null ? placedAt : LocalDateTime.now(), null));
+    }
+
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        apply(new KitchenTicket(event.orderId(), event.restaurantId(), event.customerId(), event.status(),
+                List.of(), null, null, event.changedAt()));
+    }
+
+    /**
+     * Merges one order from the order-service snapshot.
+     */
+    public void applySnapshot(KitchenTicket ticket) {
+        apply(ticket);
+    }
+
+    private void apply(KitchenTicket incoming) {
+        LocalDateTime closedAt = closedOrders.getIfPresent(incoming.orderId());
+        if (closedAt != null && !isNewer(incoming.updatedAt(), closedAt)) {
+            return;
+        }
+
+        Map<Long, KitchenTicket> queue = queues.computeIfAbsent(incoming.restaurantId(),
+                id -> new ConcurrentHashMap<>());
+        queue.compute(incoming.orderId(), (orderId, current) -> {
+            KitchenTicket merged = current == null ? incoming : merge(current, incoming);
+            if (ACTIVE_STATUSES.contains(merged.status())) {
+                return merged;
+            }
+            closedOrders.put(orderId, merged.updatedAt() == null ? LocalDateTime.now() : merged.updatedAt());
+            return null;
+        });
+    }
+
+    private static KitchenTicket merge(KitchenTicket current, KitchenTicket incoming) {
+        // The newer ticket decides the status; details come from whichever side has them
+        boolean newer = isNewer(incoming.updatedAt(), current.updatedAt());
+        KitchenTicket base = newer ? incoming : current;
+        KitchenTicket other = newer ? current : incoming;
+        return new KitchenTicket(
+                base.orderId(),
+                base.restaurantId(),
+                base.customerId() != null ? base.customerId() : other.customerId(),
+                base.status(),
+                base.items().isEmpty() ? other.items() : base.items(),
+                base.totalAmount() != null ? base.totalAmount() : other.totalAmount(),
+                earliest(base.placedAt(), other.placedAt()),
+                base.updatedAt());
+    }
+
+    // A placed event carries no timestamp and never outranks a known status change
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime current) {
+        return candidate != null && (current == null || candidate.isAfter(current));
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+}
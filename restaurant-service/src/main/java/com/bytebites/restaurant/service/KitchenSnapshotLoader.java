@@ -0,0 +1,131 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.restaurant.dto.KitchenTicket;
+import com.bytebites.restaurant.listener.KitchenEventListener;
+import com.bytebites.restaurant.security.IdentityHeaderVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds the kitchen queues on startup: the per-instance event queue is already
+ * bound and buffering, the active orders are loaded from order-service, and only
+ * then does the event listener start to replay what arrived in between. If
+ * order-service is unreachable the snapshot is retried until it succeeds; the
+ * events keep waiting in the queue, since applied on their own they would leave
+ * out every order placed before this instance started.
+ */
+@Component
+public class KitchenSnapshotLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KitchenSnapshotLoader.class);
+
+    private static final String SERVICE_SUBJECT = "restaurant-service";
+    private static final List<String> SERVICE_ROLES = List.of("ROLE_SERVICE");
+
+    private final KitchenQueueProjection projection;
+    private final RestClient restClient;
+    private final IdentityHeaderVerifier identityHeaders;
+    private final ObjectMapper objectMapper;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final Duration retryInterval;
+
+    public KitchenSnapshotLoader(KitchenQueueProjection projection,
+                                 RestClient.Builder loadBalancedRestClientBuilder,
+                                 IdentityHeaderVerifier identityHeaders,
+                                 ObjectMapper objectMapper,
+                                 RabbitListenerEndpointRegistry listenerRegistry,
+                                 @Value("${order-service.url:http://order-service}") String orderServiceUrl,
+                                 @Value("${kitchen.snapshot.retry-interval:30s}") Duration retryInterval) {
+        this.projection = projection;
+        this.restClient = loadBalancedRestClientBuilder.baseUrl(orderServiceUrl).build();
+        this.identityHeaders = identityHeaders;
+        this.objectMapper = objectMapper;
+        this.listenerRegistry = listenerRegistry;
+        this.retryInterval = retryInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread loader = new Thread(this::loadAndReplay, "kitchen-snapshot");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void loadAndReplay() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                int orders = loadSnapshot();
+                LOGGER.info("Loaded kitchen snapshot with {} active orders", orders);
+                projection.markLoaded();
+                listenerRegistry.getListenerContainer(KitchenEventListener.LISTENER_ID).start();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not load kitchen snapshot, retrying in {}s: {}",
+                        retryInterval.toSeconds(), e.getMessage());
+            }
+            try {
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int loadSnapshot() {
+        Integer count = restClient.get()
+                .uri("/api/orders/active")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(headers -> identityHeaders
+                        .signedHeaders(SERVICE_SUBJECT, SERVICE_ROLES, Duration.ofMinutes(5))
+                        .forEach(headers::set))
+                .exchange((request, response) -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("order-service answered " + response.getStatusCode());
+                    }
+                    int loaded = 0;
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.isBlank()) {
+                                projection.applySnapshot(objectMapper.readValue(line, ActiveOrder.class).toTicket());
+                                loaded++;
+                            }
+                        }
+                    }
+                    return loaded;
+                });
+        return count == null ? 0 : count;
+    }
+
+    // The subset of order-service's OrderResponse the kitchen needs
+    private record ActiveOrder(Long id, Long customerId, Long restaurantId, String status, BigDecimal totalAmount,
+                               List<Item> orderItems, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        KitchenTicket toTicket() {
+            List<KitchenTicket.Item> items = orderItems == null ? List.of() : orderItems.stream()
+                    .map(item -> new KitchenTicket.Item(item.name(), item.quantity()))
+                    .toList();
+            return new KitchenTicket(id, restaurantId, customerId, status, items, totalAmount, createdAt, updatedAt);
+        }
+    }
+
+    private record Item(String name, Integer quantity) {
+    }
+}
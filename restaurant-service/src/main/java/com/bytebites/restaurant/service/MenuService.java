@@ -0,0 +1,191 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.restaurant.config.RabbitMQConfig;
+import com.bytebites.restaurant.dto.MenuItemRequest;
+import com.bytebites.restaurant.dto.MenuItemResponse;
+import com.bytebites.restaurant.dto.MenuSnapshot;
+import com.bytebites.restaurant.model.MenuItem;
+import com.bytebites.restaurant.repository.MenuItemRepository;
+import com.bytebites.restaurant.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Serves restaurant menus from a read-through, per-restaurant cache. Every write
+ * evicts the restaurant's entry once its transaction commits and announces the
+ * change on {@code menu.updated}; the TTL only bounds staleness for changes made
+ * outside this service or events that never arrive.
+ */
+@Service
+public class MenuService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MenuService.class);
+
+    static final String CACHE_NAME = "restaurant-menus";
+
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final AsyncCache<Long, MenuSnapshot> menuCache;
+
+    public MenuService(MenuItemRepository menuItemRepository,
+                       RestaurantRepository restaurantRepository,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${menu.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${menu.cache.ttl:10m}") Duration ttl) {
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.menuCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, menuCache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the menu of a restaurant, loading it from the database only on a
+     * cache miss. Unknown restaurants are not cached.
+     */
+    public Optional<MenuSnapshot> getMenu(Long restaurantId) {
+        // The load runs on the calling thread but outside the cache's map lock, so a
+        // virtual thread waiting on JDBC here never pins its carrier. Concurrent
+        // callers for the same restaurant wait on the one load in flight.
+        CompletableFuture<MenuSnapshot> load = new CompletableFuture<>();
+        CompletableFuture<MenuSnapshot> menu = menuCache.get(restaurantId, (id, executor) -> load);
+        if (menu == load) {
+            try {
+                load.complete(loadMenu(restaurantId));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+            }
+        }
+        try {
+            return Optional.ofNullable(menu.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Returns the requested items of a restaurant's menu, served from the same
+     * cached snapshot. Ids that are not on the menu are left out.
+     */
+    public Optional<List<MenuItemResponse>> getMenuItems(Long restaurantId, Collection<Long> itemIds) {
+        Set<Long> wanted = Set.copyOf(itemIds);
+        return getMenu(restaurantId).map(menu -> menu.items().stream()
+                .filter(item -> wanted.contains(item.id()))
+                .toList());
+    }
+
+    @Transactional
+    public Optional<MenuItemResponse> addMenuItem(Long restaurantId, MenuItemRequest request, String ownerId) {
+        return restaurantRepository.findByIdAndOwnerId(restaurantId, ownerId)
+                .map(restaurant -> {
+                    MenuItem item = new MenuItem();
+                    item.setRestaurant(restaurant);
+                    apply(request, item);
+                    MenuItem saved = menuItemRepository.save(item);
+                    evictAfterCommit(restaurantId);
+                    return MenuItemResponse.from(saved);
+                });
+    }
+
+    @Transactional
+    public Optional<MenuItemResponse> updateMenuItem(Long restaurantId, Long itemId,
+                                                     MenuItemRequest request, String ownerId) {
+        if (restaurantRepository.findByIdAndOwnerId(restaurantId, ownerId).isEmpty()) {
+            return Optional.empty();
+        }
+        return menuItemRepository.findByIdAndRestaurantId(itemId, restaurantId)
+                .map(item -> {
+                    apply(request, item);
+                    MenuItem saved = menuItemRepository.saveAndFlush(item);
+                    evictAfterCommit(restaurantId);
+                    return MenuItemResponse.from(saved);
+                });
+    }
+
+    @Transactional
+    public boolean deleteMenuItem(Long restaurantId, Long itemId, String ownerId) {
+        if (restaurantRepository.findByIdAndOwnerId(restaurantId, ownerId).isEmpty()) {
+            return false;
+        }
+        Optional<MenuItem> item = menuItemRepository.findByIdAndRestaurantId(itemId, restaurantId);
+        item.ifPresent(menuItem -> {
+            menuItemRepository.delete(menuItem);
+            evictAfterCommit(restaurantId);
+        });
+        return item.isPresent();
+    }
+
+    public void evict(Long restaurantId) {
+        menuCache.synchronous().invalidate(restaurantId);
+    }
+
+    private MenuSnapshot loadMenu(Long restaurantId) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            return null;
+        }
+        return MenuSnapshot.of(restaurantId, menuItemRepository
+                .findByRestaurantIdOrderByCategoryAscNameAscIdAsc(restaurantId).stream()
+                .map(MenuItemResponse::from)
+                .toList());
+    }
+
+    private void apply(MenuItemRequest request, MenuItem item) {
+        item.setName(request.getName());
+        item.setDescription(request.getDescription());
+        item.setPrice(request.getPrice());
+        item.setCategory(request.getCategory());
+        item.setAvailable(request.isAvailable());
+    }
+
+    // Evicting before commit would let a concurrent read cache the old rows again.
+    // A load still in flight when the eviction runs is dropped with its future.
+    private void evictAfterCommit(Long restaurantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            menuChanged(restaurantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                menuChanged(restaurantId);
+            }
+        });
+    }
+
+    private void menuChanged(Long restaurantId) {
+        evict(restaurantId);
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.MENU_UPDATED_ROUTING_KEY,
+                    new MenuUpdatedEvent(restaurantId));
+        } catch (AmqpException e) {
+            // Other caches fall back to their TTL
+            LOGGER.warn("Could not publish menu update for restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.bytebites.restaurant.service;
 
+import com.bytebites.contracts.event.RestaurantUpdatedEvent;
+import com.bytebites.restaurant.config.RabbitMQConfig;
 import com.bytebites.restaurant.dto.RestaurantRequest;
 import com.bytebites.restaurant.model.Restaurant;
 import com.bytebites.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,9 +19,14 @@ import java.util.Optional;
 @Service
 public class RestaurantService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestaurantService.class);
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findByActiveTrue();
     }
@@ -32,7 +43,9 @@ public class RestaurantService {
         restaurant.setPhone(request.getPhone());
         restaurant.setOwnerId(ownerId);
         
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantChanged(saved.getId());
+        return saved;
     }
 
     public Optional<Restaurant> updateRestaurant(Long id, RestaurantRequest request, String ownerId) {
@@ -45,7 +58,9 @@ public class RestaurantService {
             restaurant.setAddress(request.getAddress());
             restaurant.setPhone(request.getPhone());
             
-            return Optional.of(restaurantRepository.save(restaurant));
+            Restaurant saved = restaurantRepository.save(restaurant);
+            restaurantChanged(saved.getId());
+            return Optional.of(saved);
         }
         
         return Optional.empty();
@@ -55,6 +70,17 @@ public class RestaurantService {
         return restaurantRepository.findByOwnerId(ownerId);
     }
 
+    // save() has committed by now, so a cache reloading on this event sees the new row
+    private void restaurantChanged(Long restaurantId) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.RESTAURANT_UPDATED_ROUTING_KEY,
+                    new RestaurantUpdatedEvent(restaurantId));
+        } catch (AmqpException e) {
+            // Cached copies fall back to their TTL
+            LOGGER.warn("Could not publish update of restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+
     @RabbitListener(queues = "order.placed")
     public void handleOrderPlaced(String orderMessage) {
         // Process order placement event
@@ -0,0 +1,94 @@
+package com.bytebites.restaurant.config;
+
+import com.bytebites.contracts.deadletter.DeadLetterQueueStats;
+import com.bytebites.contracts.deadletter.DeadLetterService;
+import com.bytebites.contracts.deadletter.ReplayStatus;
+import com.bytebites.restaurant.controller.DeadLetterController;
+import com.bytebites.restaurant.security.IdentityHeaderVerifier;
+import com.bytebites.restaurant.security.JwtService;
+import com.bytebites.restaurant.security.RestaurantUserDetailsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DeadLetterController.class, properties = {
+        "jwt.secret=bytebites-secret-key-for-jwt-signing-and-verification",
+        "spring.cloud.config.enabled=false"})
+@Import({SecurityConfig.class, JwtService.class, IdentityHeaderVerifier.class,
+        RestaurantUserDetailsService.class})
+class DeadLetterSecurityTest {
+
+    private static final String PATH = DeadLetterController.PATH;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdentityHeaderVerifier identityHeaderVerifier;
+
+    @MockBean
+    private DeadLetterService deadLetterService;
+
+    @Test
+    @DisplayName("Should reject dead-letter requests without credentials")
+    void shouldRejectAnonymousRequests() throws Exception {
+        mockMvc.perform(get(PATH)).andExpect(status().isForbidden());
+        mockMvc.perform(post(PATH + "/restaurant-service-queue/replay")).andExpect(status().isForbidden());
+
+        verifyNoInteractions(deadLetterService);
+    }
+
+    @Test
+    @DisplayName("Should reject dead-letter requests from non-admin users")
+    void shouldRejectNonAdmins() throws Exception {
+        mockMvc.perform(as(get(PATH), "ROLE_RESTAURANT_OWNER")).andExpect(status().isForbidden());
+        mockMvc.perform(as(post(PATH + "/restaurant-service-queue/replay"), "ROLE_CUSTOMER"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(deadLetterService);
+    }
+
+    @Test
+    @DisplayName("Should serve dead-letter stats and replays to admins")
+    void shouldServeAdmins() throws Exception {
+        when(deadLetterService.getStats()).thenReturn(List.of(
+                new DeadLetterQueueStats("restaurant-service-queue", 0, 1, 0, 2)));
+        when(deadLetterService.startReplay(anyString(), anyString(), anyInt(), any())).thenReturn(
+                new ReplayStatus("restaurant-service-queue", "parking-lot", 1000, 50, 0, true,
+                        Instant.now(), null, null));
+
+        mockMvc.perform(as(get(PATH), "ROLE_ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].parked").value(2));
+        mockMvc.perform(as(post(PATH + "/restaurant-service-queue/replay"), "ROLE_ADMIN"))
+                .andExpect(status().isAccepted());
+
+        verify(deadLetterService).startReplay("restaurant-service-queue", "parking-lot", 1000, null);
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, String role) {
+        HttpHeaders headers = new HttpHeaders();
+        identityHeaderVerifier.signedHeaders("someone", List.of(role), Duration.ofMinutes(5))
+                .forEach(headers::add);
+        return request.headers(headers);
+    }
+}
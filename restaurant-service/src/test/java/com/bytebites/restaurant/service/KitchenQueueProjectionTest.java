@@ -0,0 +1,122 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.contracts.event.OrderPlacedEvent;
+import com.bytebites.contracts.event.OrderStatusChangedEvent;
+import com.bytebites.restaurant.dto.KitchenTicket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenQueueProjectionTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private KitchenQueueProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new KitchenQueueProjection(new SimpleMeterRegistry(), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should list open orders by the time they were placed, not the time they arrived")
+    void shouldOrderByPlacedTime() {
+        projection.onOrderPlaced(placed(2L), T0.plusMinutes(5));
+        projection.onOrderPlaced(placed(3L), T0.plusMinutes(5));
+        projection.onOrderPlaced(placed(1L), T0);
+
+        assertThat(projection.getQueue(RESTAURANT_ID)).extracting(KitchenTicket::orderId).containsExactly(1L, 2L, 3L);
+        assertThat(projection.getQueue(RESTAURANT_ID).get(0).placedAt()).isEqualTo(T0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the arrival time for events without a placed time")
+    void shouldFallBackToArrivalTime() {
+        LocalDateTime before = LocalDateTime.now();
+
+        projection.onOrderPlaced(placed(1L), null);
+
+        assertThat(projection.getQueue(RESTAURANT_ID).get(0).placedAt()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should keep the items of the placed event when a status change arrives first")
+    void shouldMergeStatusChangeArrivingBeforePlacedEvent() {
+        projection.onStatusChanged(changed(1L, "CONFIRMED", T0.plusMinutes(1)));
+        projection.onOrderPlaced(placed(1L), T0);
+
+        KitchenTicket ticket = projection.getQueue(RESTAURANT_ID).get(0);
+        assertThat(ticket.status()).isEqualTo("CONFIRMED");
+        assertThat(ticket.items()).containsExactly(new KitchenTicket.Item("Pizza", 2));
+        assertThat(ticket.totalAmount()).isEqualByComparingTo("25.00");
+        assertThat(ticket.placedAt()).isEqualTo(T0);
+        assertThat(ticket.updatedAt()).isEqualTo(T0.plusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should ignore a status change older than the one already applied")
+    void shouldIgnoreStaleStatusChanges() {
+        projection.onOrderPlaced(placed(1L), T0);
+        projection.onStatusChanged(changed(1L, "PREPARING", T0.plusMinutes(2)));
+        projection.onStatusChanged(changed(1L, "CONFIRMED", T0.plusMinutes(1)));
+        projection.onStatusChanged(changed(1L, "PREPARING", T0.plusMinutes(2)));
+
+        assertThat(projection.getQueue(RESTAURANT_ID)).singleElement()
+                .extracting(KitchenTicket::status).isEqualTo("PREPARING");
+    }
+
+    @Test
+    @DisplayName("Should drop orders that leave the kitchen and not reopen them on late events")
+    void shouldNotReopenClosedOrders() {
+        projection.onOrderPlaced(placed(1L), T0);
+        projection.onStatusChanged(changed(1L, "OUT_FOR_DELIVERY", T0.plusMinutes(20)));
+
+        projection.onOrderPlaced(placed(1L), T0);
+        projection.onStatusChanged(changed(1L, "READY_FOR_DELIVERY", T0.plusMinutes(15)));
+        projection.applySnapshot(ticket(1L, "PREPARING", T0, T0.plusMinutes(10)));
+
+        assertThat(projection.getQueue(RESTAURANT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should merge events that overlap the snapshot by their status time")
+    void shouldMergeEventsOverlappingSnapshot() {
+        projection.applySnapshot(ticket(1L, "CONFIRMED", T0, T0.plusMinutes(1)));
+        projection.applySnapshot(ticket(2L, "PENDING", T0.plusMinutes(3), null));
+
+        // Replayed from the queue after the snapshot: one already included, one newer
+        projection.onStatusChanged(changed(1L, "CONFIRMED", T0.plusMinutes(1)));
+        projection.onOrderPlaced(placed(1L), T0);
+        projection.onStatusChanged(changed(2L, "PREPARING", T0.plusMinutes(4)));
+
+        List<KitchenTicket> queue = projection.getQueue(RESTAURANT_ID);
+        assertThat(queue).extracting(KitchenTicket::orderId).containsExactly(1L, 2L);
+        assertThat(queue).extracting(KitchenTicket::status).containsExactly("CONFIRMED", "PREPARING");
+        assertThat(queue.get(1).placedAt()).isEqualTo(T0.plusMinutes(3));
+        assertThat(queue.get(1).items()).containsExactly(new KitchenTicket.Item("Burger", 1));
+    }
+
+    private static OrderPlacedEvent placed(Long orderId) {
+        return new OrderPlacedEvent(orderId, 7L, RESTAURANT_ID,
+                List.of(new OrderPlacedEvent.OrderItemData("Pizza", 2, new BigDecimal("12.50"))),
+                new BigDecimal("25.00"));
+    }
+
+    private static OrderStatusChangedEvent changed(Long orderId, String status, LocalDateTime changedAt) {
+        return new OrderStatusChangedEvent(orderId, 7L, RESTAURANT_ID, null, status, changedAt);
+    }
+
+    private static KitchenTicket ticket(Long orderId, String status, LocalDateTime placedAt, LocalDateTime updatedAt) {
+        return new KitchenTicket(orderId, RESTAURANT_ID, 7L, status, List.of(new KitchenTicket.Item("Burger", 1)),
+                new BigDecimal("9.00"), placedAt, updatedAt);
+    }
+}
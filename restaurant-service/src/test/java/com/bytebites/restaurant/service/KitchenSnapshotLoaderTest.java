@@ -0,0 +1,92 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.restaurant.dto.KitchenTicket;
+import com.bytebites.restaurant.listener.KitchenEventListener;
+import com.bytebites.restaurant.security.IdentityHeaderVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServiceUnavailable;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class KitchenSnapshotLoaderTest {
+
+    private static final String SNAPSHOT = """
+            {"id":1,"customerId":7,"restaurantId":3,"status":"CONFIRMED","totalAmount":25.00,\
+            "orderItems":[{"name":"Pizza","quantity":2,"price":12.50}],\
+            "createdAt":"2024-05-01T12:00:00","updatedAt":"2024-05-01T12:01:00"}
+
+            {"id":2,"customerId":8,"restaurantId":3,"status":"PENDING","totalAmount":9.00,\
+            "orderItems":[],"createdAt":"2024-05-01T12:03:00"}
+            """;
+
+    private KitchenQueueProjection projection;
+    private MockRestServiceServer orderService;
+    private MessageListenerContainer listener;
+    private KitchenSnapshotLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        projection = new KitchenQueueProjection(new SimpleMeterRegistry(), Duration.ofHours(1));
+        RestClient.Builder builder = RestClient.builder();
+        orderService = MockRestServiceServer.bindTo(builder).build();
+        listener = mock(MessageListenerContainer.class);
+        RabbitListenerEndpointRegistry registry = mock(RabbitListenerEndpointRegistry.class);
+        when(registry.getListenerContainer(KitchenEventListener.LISTENER_ID)).thenReturn(listener);
+        loader = new KitchenSnapshotLoader(projection, builder,
+                new IdentityHeaderVerifier("bytebites-secret-key-for-jwt-signing-and-verification", true),
+                Jackson2ObjectMapperBuilder.json().build(), registry, "http://order-service", Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should apply the snapshot before the event listener starts")
+    void shouldStartListenerAfterSnapshot() {
+        orderService.expect(requestTo("http://order-service/api/orders/active"))
+                .andExpect(header(IdentityHeaderVerifier.USER_HEADER, "restaurant-service"))
+                .andRespond(withSuccess(SNAPSHOT, MediaType.APPLICATION_NDJSON));
+        List<KitchenTicket> queueAtStart = new ArrayList<>();
+        doAnswer(call -> queueAtStart.addAll(projection.getQueue(3L))).when(listener).start();
+
+        loader.loadAndReplay();
+
+        orderService.verify();
+        verify(listener, times(1)).start();
+        assertThat(queueAtStart).extracting(KitchenTicket::orderId).containsExactly(1L, 2L);
+        assertThat(queueAtStart.get(0).items()).containsExactly(new KitchenTicket.Item("Pizza", 2));
+        assertThat(projection.isLoaded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the listener stopped and retry while the snapshot cannot be loaded")
+    void shouldRetrySnapshotBeforeStartingListener() {
+        orderService.expect(requestTo("http://order-service/api/orders/active")).andRespond(withServiceUnavailable());
+        orderService.expect(requestTo("http://order-service/api/orders/active")).andRespond(request -> {
+            // Second attempt: the listener must still be waiting
+            verify(listener, never()).start();
+            assertThat(projection.isLoaded()).isFalse();
+            return withSuccess(SNAPSHOT, MediaType.APPLICATION_NDJSON).createResponse(request);
+        });
+
+        loader.loadAndReplay();
+
+        orderService.verify();
+        verify(listener, times(1)).start();
+        assertThat(projection.getQueue(3L)).hasSize(2);
+    }
+}
@@ -0,0 +1,168 @@
+package com.bytebites.restaurant.service;
+
+import com.bytebites.contracts.event.MenuUpdatedEvent;
+import com.bytebites.restaurant.config.RabbitMQConfig;
+import com.bytebites.restaurant.dto.MenuItemRequest;
+import com.bytebites.restaurant.dto.MenuSnapshot;
+import com.bytebites.restaurant.model.MenuItem;
+import com.bytebites.restaurant.model.Restaurant;
+import com.bytebites.restaurant.repository.MenuItemRepository;
+import com.bytebites.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MenuServiceTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+
+    private MenuItemRepository menuItemRepository;
+    private RestaurantRepository restaurantRepository;
+    private RabbitTemplate rabbitTemplate;
+    private MenuService menuService;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository = mock(MenuItemRepository.class);
+        restaurantRepository = mock(RestaurantRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        menuService = new MenuService(menuItemRepository, restaurantRepository, rabbitTemplate,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        when(restaurantRepository.existsById(RESTAURANT_ID)).thenReturn(true);
+        when(menuItemRepository.findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID))
+                .thenReturn(List.of(item(1L, "Pizza", "12.50")));
+    }
+
+    @Test
+    @DisplayName("Should load a menu once and serve repeated reads from the cache")
+    void shouldServeHitsFromCache() {
+        MenuSnapshot first = menuService.getMenu(RESTAURANT_ID).orElseThrow();
+        MenuSnapshot second = menuService.getMenu(RESTAURANT_ID).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.items()).extracting("name").containsExactly("Pizza");
+        verify(menuItemRepository, times(1)).findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown restaurants")
+    void shouldNotCacheUnknownRestaurants() {
+        when(restaurantRepository.existsById(99L)).thenReturn(false);
+
+        assertThat(menuService.getMenu(99L)).isEmpty();
+        assertThat(menuService.getMenu(99L)).isEmpty();
+
+        verify(restaurantRepository, times(2)).existsById(99L);
+    }
+
+    @Test
+    @DisplayName("Should evict the menu and announce the change when an item is updated")
+    void shouldEvictOnUpdate() {
+        MenuSnapshot before = menuService.getMenu(RESTAURANT_ID).orElseThrow();
+        MenuItem stored = item(1L, "Pizza", "12.50");
+        when(restaurantRepository.findByIdAndOwnerId(RESTAURANT_ID, "owner-1")).thenReturn(Optional.of(new Restaurant()));
+        when(menuItemRepository.findByIdAndRestaurantId(1L, RESTAURANT_ID)).thenReturn(Optional.of(stored));
+        when(menuItemRepository.saveAndFlush(stored)).thenReturn(stored);
+        when(menuItemRepository.findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID))
+                .thenReturn(List.of(item(1L, "Pizza", "14.00")));
+
+        menuService.updateMenuItem(RESTAURANT_ID, 1L, request("Pizza", "14.00"), "owner-1");
+        MenuSnapshot after = menuService.getMenu(RESTAURANT_ID).orElseThrow();
+
+        assertThat(after.items().get(0).price()).isEqualByComparingTo("14.00");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.MENU_UPDATED_ROUTING_KEY,
+                new MenuUpdatedEvent(RESTAURANT_ID));
+    }
+
+    @Test
+    @DisplayName("Should leave the menu cached when the update is not the owner's")
+    void shouldKeepMenuOnRejectedUpdate() {
+        menuService.getMenu(RESTAURANT_ID);
+        when(restaurantRepository.findByIdAndOwnerId(RESTAURANT_ID, "someone-else")).thenReturn(Optional.empty());
+
+        assertThat(menuService.updateMenuItem(RESTAURANT_ID, 1L, request("Pizza", "1.00"), "someone-else")).isEmpty();
+        menuService.getMenu(RESTAURANT_ID);
+
+        verify(menuItemRepository, times(1)).findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID);
+        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent readers of the same menu")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(menuItemRepository.findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID)).thenAnswer(call -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(item(1L, "Pizza", "12.50"));
+        });
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<MenuSnapshot>>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(readers.submit(() -> menuService.getMenu(RESTAURANT_ID)));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100); // let the other readers reach the cache
+            release.countDown();
+
+            MenuSnapshot first = reads.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+            for (Future<Optional<MenuSnapshot>> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).containsSame(first);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        verify(menuItemRepository, times(1)).findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed load")
+    void shouldRetryAfterFailedLoad() {
+        when(menuItemRepository.findByRestaurantIdOrderByCategoryAscNameAscIdAsc(RESTAURANT_ID))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(item(1L, "Pizza", "12.50")));
+
+        assertThatThrownBy(() -> menuService.getMenu(RESTAURANT_ID)).isInstanceOf(QueryTimeoutException.class);
+        assertThat(menuService.getMenu(RESTAURANT_ID)).isPresent();
+    }
+
+    private MenuItem item(Long id, String name, String price) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setCategory("Mains");
+        return item;
+    }
+
+    private MenuItemRequest request(String name, String price) {
+        MenuItemRequest request = new MenuItemRequest();
+        request.setName(name);
+        request.setPrice(new BigDecimal(price));
+        request.setCategory("Mains");
+        return request;
+    }
+}